@@ -0,0 +1,69 @@
+package jordanmarcelino.contact.repository;
+
+import jordanmarcelino.contact.SpringContactApiApplication;
+import jordanmarcelino.contact.dto.ContactSuggestionResponse;
+import jordanmarcelino.contact.search.ContactNameDictionary;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-10 name completions for a warm user from {@link ContactNameDictionary} versus the database
+ * fallback query, for a short and a longer prefix.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContactAutocompleteBenchmark {
+
+    private static final int LIMIT = 10;
+
+    @Param({"100000", "1000000"})
+    private int contacts;
+
+    @Param({"dictionary", "database"})
+    private String source;
+
+    @Param({"j", "jennifer 1a"})
+    private String prefix;
+
+    private ConfigurableApplicationContext context;
+
+    private ContactNameDictionary nameDictionary;
+
+    private ContactRepository contactRepository;
+
+    private long userId;
+
+    @Setup
+    public void setUp() throws Exception {
+        try (Connection connection = ContactFixtures.connect()) {
+            userId = ContactFixtures.seedUser(connection, contacts);
+        }
+
+        context = SpringApplication.run(SpringContactApiApplication.class, ContactFixtures.springProperties());
+        nameDictionary = context.getBean(ContactNameDictionary.class);
+        contactRepository = context.getBean(ContactRepository.class);
+        nameDictionary.complete(userId, prefix, LIMIT).orElseThrow();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ContactSuggestionResponse> complete() {
+        if (source.equals("dictionary")) {
+            return nameDictionary.complete(userId, prefix, LIMIT).orElseThrow();
+        }
+        return contactRepository.findSuggestions(userId, prefix, LIMIT);
+    }
+}
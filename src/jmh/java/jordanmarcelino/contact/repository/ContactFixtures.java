@@ -0,0 +1,120 @@
+package jordanmarcelino.contact.repository;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Seeds one benchmark user per address book size into the database behind {@code -Djdbc.url}
+ * (defaults to the docker-compose PostgreSQL). Rows are kept between runs, so the 1M user is only
+ * generated once.
+ */
+final class ContactFixtures {
+
+    private static final String URL = System.getProperty("jdbc.url", "jdbc:postgresql://localhost:8001/spring_contact_db");
+
+    private static final String USER = System.getProperty("jdbc.user", "postgres");
+
+    private static final String PASSWORD = System.getProperty("jdbc.password", "postgres");
+
+    private static final String INSERT_CONTACTS = """
+            insert into contacts (user_id, first_name, last_name, email, phone, phone_digits, phone_digits_reversed,
+                                  created_at, updated_at)
+            select ?,
+                   (array['James','Mary','Robert','Patricia','John','Jennifer','Michael','Linda','David','Elizabeth',
+                          'William','Barbara','Richard','Susan','Joseph','Jessica','Thomas','Sarah','Charles','Karen',
+                          'Budi','Siti','Agus','Dewi','Andi','Putri','Rizky','Ayu','Dimas','Indah'])[1 + i % 30],
+                   initcap(substr(md5((i * 31)::text), 1, 8)),
+                   'contact' || i || '@example.com',
+                   '+62' || lpad(((i::bigint * 7919) % 1000000000)::text, 9, '0'),
+                   '62' || lpad(((i::bigint * 7919) % 1000000000)::text, 9, '0'),
+                   reverse('62' || lpad(((i::bigint * 7919) % 1000000000)::text, 9, '0')),
+                   now() - (i || ' seconds')::interval,
+                   now()
+            from generate_series(?, ?) as i
+            """;
+
+    private ContactFixtures() {
+    }
+
+    static Connection connect() throws SQLException {
+        return DriverManager.getConnection(URL, USER, PASSWORD);
+    }
+
+    static String[] springProperties() {
+        return new String[]{
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=" + URL,
+                "--spring.datasource.username=" + USER,
+                "--spring.datasource.password=" + PASSWORD,
+                "--app.auth.token-sweeper.enabled=false",
+                "--app.contact.phonetic.backfill-enabled=false"
+        };
+    }
+
+    static HikariDataSource pool(int maximumPoolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(URL);
+        config.setUsername(USER);
+        config.setPassword(PASSWORD);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(maximumPoolSize);
+        return new HikariDataSource(config);
+    }
+
+    static long seedUser(Connection connection, int contacts) throws SQLException {
+        String username = "benchmark-" + contacts;
+        try (PreparedStatement statement = connection.prepareStatement("""
+                insert into users (username, name, hash_password, created_at, updated_at)
+                values (?, ?, 'benchmark', now(), now())
+                on conflict (username) do nothing
+                """)) {
+            statement.setString(1, username);
+            statement.setString(2, username);
+            statement.executeUpdate();
+        }
+
+        long userId = queryForLong(connection, "select id from users where username = ?", username);
+        long existing = queryForLong(connection, "select count(*) from contacts where user_id = ?", userId);
+        if (existing < contacts) {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_CONTACTS)) {
+                statement.setLong(1, userId);
+                statement.setLong(2, existing + 1);
+                statement.setLong(3, contacts);
+                statement.executeUpdate();
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("analyze contacts");
+            }
+        }
+        return userId;
+    }
+
+    static long queryForLong(Connection connection, String sql, Object parameter) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, parameter);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    static String queryForString(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+}
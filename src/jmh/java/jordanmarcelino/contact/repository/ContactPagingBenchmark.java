@@ -0,0 +1,93 @@
+package jordanmarcelino.contact.repository;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unfiltered contact listing at page 1 and page 10,000 (size 10). {@code offset} is what
+ * {@code PageRequest} renders, a limit/offset query plus a count, and {@code keyset} is what
+ * {@code cursor} paging renders, a seek on {@code id} with one extra row for {@code hasNext}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContactPagingBenchmark {
+
+    private static final int SIZE = 10;
+
+    @Param({"1000000"})
+    private int contacts;
+
+    @Param({"offset", "keyset"})
+    private String mode;
+
+    @Param({"1", "10000"})
+    private int page;
+
+    private Connection connection;
+
+    private PreparedStatement content;
+
+    private PreparedStatement count;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = ContactFixtures.connect();
+        long userId = ContactFixtures.seedUser(connection, contacts);
+        int offset = (page - 1) * SIZE;
+
+        if (mode.equals("offset")) {
+            content = connection.prepareStatement(
+                    "select id, first_name, last_name, email, phone from contacts where user_id = ? offset ? limit ?");
+            content.setLong(1, userId);
+            content.setInt(2, offset);
+            content.setInt(3, SIZE);
+
+            count = connection.prepareStatement("select count(*) from contacts where user_id = ?");
+            count.setLong(1, userId);
+            return;
+        }
+
+        long lastId = offset == 0 ? 0L : Long.parseLong(ContactFixtures.queryForString(connection,
+                "select id from contacts where user_id = ? order by id offset ? limit 1", userId, offset - 1));
+        content = connection.prepareStatement("""
+                select id, first_name, last_name, email, phone from contacts
+                where user_id = ? and id > ?
+                order by id
+                limit ?
+                """);
+        content.setLong(1, userId);
+        content.setLong(2, lastId);
+        content.setInt(3, SIZE + 1);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void list(Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = content.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong(1));
+                blackhole.consume(resultSet.getString(2));
+            }
+        }
+        if (count != null) {
+            try (ResultSet resultSet = count.executeQuery()) {
+                resultSet.next();
+                blackhole.consume(resultSet.getLong(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package jordanmarcelino.contact.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code total=exact} search with 16 concurrent callers, running the content and count queries one
+ * after the other on one connection ({@code sequential}) or side by side on two pooled connections
+ * ({@code parallel}), as {@code app.contact.search.parallel-count} does.
+ * <p>
+ * The score is the per-request latency. The pool-pressure cost shows in the {@code connectionWait}
+ * counter, the total time callers spent blocked in {@code getConnection()} per iteration: with a
+ * pool smaller than twice the callers, the parallel mode starts queueing for connections.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContactParallelCountBenchmark {
+
+    private static final String CONTENT = """
+            select id, first_name, last_name, email, phone from contacts
+            where user_id = ? and (lower(first_name) like ? or lower(last_name) like ?)
+            offset 0 limit 10
+            """;
+
+    private static final String COUNT = """
+            select count(*) from contacts
+            where user_id = ? and (lower(first_name) like ? or lower(last_name) like ?)
+            """;
+
+    @Param({"100000", "1000000"})
+    private int contacts;
+
+    @Param({"sequential", "parallel"})
+    private String execution;
+
+    @Param({"16", "32"})
+    private int poolSize;
+
+    private HikariDataSource dataSource;
+
+    private ExecutorService executor;
+
+    private long userId;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PoolPressure {
+
+        private final AtomicLong waitNanos = new AtomicLong();
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            waitNanos.set(0L);
+        }
+
+        /**
+         * Milliseconds this caller spent waiting for a pooled connection.
+         */
+        public long connectionWait() {
+            return TimeUnit.NANOSECONDS.toMillis(waitNanos.get());
+        }
+
+        Connection connection(HikariDataSource dataSource) throws SQLException {
+            long start = System.nanoTime();
+            Connection connection = dataSource.getConnection();
+            waitNanos.addAndGet(System.nanoTime() - start);
+            return connection;
+        }
+    }
+
+    @Setup
+    public void setUp() throws SQLException {
+        try (Connection connection = ContactFixtures.connect()) {
+            userId = ContactFixtures.seedUser(connection, contacts);
+        }
+        dataSource = ContactFixtures.pool(poolSize);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public void search(PoolPressure pressure, Blackhole blackhole) throws Exception {
+        if (execution.equals("sequential")) {
+            try (Connection connection = pressure.connection(dataSource)) {
+                content(connection, blackhole);
+                blackhole.consume(count(connection));
+            }
+            return;
+        }
+
+        Future<Long> total = executor.submit(() -> {
+            try (Connection connection = pressure.connection(dataSource)) {
+                return count(connection);
+            }
+        });
+        try (Connection connection = pressure.connection(dataSource)) {
+            content(connection, blackhole);
+        }
+        blackhole.consume(total.get());
+    }
+
+    private void content(Connection connection, Blackhole blackhole) throws SQLException {
+        try (PreparedStatement statement = prepare(connection, CONTENT);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong(1));
+                blackhole.consume(resultSet.getString(2));
+            }
+        }
+    }
+
+    private long count(Connection connection) throws SQLException {
+        try (PreparedStatement statement = prepare(connection, COUNT);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        statement.setLong(1, userId);
+        statement.setString(2, "%ja%");
+        statement.setString(3, "%ja%");
+        return statement;
+    }
+}
@@ -0,0 +1,87 @@
+package jordanmarcelino.contact.repository;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Phone search on a 1M-contact user: the former substring match on the raw column, against the
+ * range scans {@link ContactSpecifications} renders on {@code phone_digits} (prefix) and
+ * {@code phone_digits_reversed} (last digits) from {@code schema_004_contact_phone_digits.sql}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContactPhoneSearchBenchmark {
+
+    private static final String COLUMNS = "select id, first_name, last_name, email, phone from contacts ";
+
+    @Param({"1000000"})
+    private int contacts;
+
+    @Param({"substring-prefix", "range-prefix", "substring-suffix", "range-suffix"})
+    private String query;
+
+    private Connection connection;
+
+    private PreparedStatement page;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = ContactFixtures.connect();
+        long userId = ContactFixtures.seedUser(connection, contacts);
+        String digits = ContactFixtures.queryForString(connection,
+                "select phone_digits from contacts where user_id = ? offset ? limit 1", userId, contacts / 2);
+        String prefix = digits.substring(0, 7);
+        String suffix = digits.substring(digits.length() - 5);
+
+        switch (query) {
+            case "substring-prefix", "substring-suffix" -> {
+                page = connection.prepareStatement(COLUMNS + "where user_id = ? and phone like ? limit 10");
+                page.setString(2, "%" + (query.endsWith("prefix") ? prefix.substring(2) : suffix) + "%");
+            }
+            case "range-prefix" -> {
+                page = connection.prepareStatement(
+                        COLUMNS + "where user_id = ? and phone_digits >= ? and phone_digits < ? limit 10");
+                page.setString(2, prefix);
+                page.setString(3, next(prefix));
+            }
+            default -> {
+                String reversed = new StringBuilder(suffix).reverse().toString();
+                page = connection.prepareStatement(COLUMNS
+                        + "where user_id = ? and phone_digits_reversed >= ? and phone_digits_reversed < ? limit 10");
+                page.setString(2, reversed);
+                page.setString(3, next(reversed));
+            }
+        }
+        page.setLong(1, userId);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void search(Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = page.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong(1));
+                blackhole.consume(resultSet.getString(5));
+            }
+        }
+    }
+
+    private static String next(String digits) {
+        char last = digits.charAt(digits.length() - 1);
+        return digits.substring(0, digits.length() - 1) + (char) (last + 1);
+    }
+}
@@ -0,0 +1,94 @@
+package jordanmarcelino.contact.repository;
+
+import jordanmarcelino.contact.SpringContactApiApplication;
+import jordanmarcelino.contact.dto.ContactResponse;
+import jordanmarcelino.contact.dto.SearchContactRequest;
+import jordanmarcelino.contact.entity.Contact;
+import jordanmarcelino.contact.search.SearchBackend;
+import jordanmarcelino.contact.security.AuthenticatedUser;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contact get and a 50-row search page through the real repositories, loading {@code Contact}
+ * entities (with their eager {@code User}) and copying them into {@link ContactResponse}, versus
+ * selecting the response columns straight into it. Run with {@code -prof gc} to see the allocation
+ * difference alongside the latency.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContactReadPathBenchmark {
+
+    private static final int SIZE = 50;
+
+    @Param({"entity", "projection"})
+    private String readPath;
+
+    private ConfigurableApplicationContext context;
+
+    private ContactRepository contactRepository;
+
+    private Specification<Contact> specification;
+
+    private long userId;
+
+    private long contactId;
+
+    @Setup
+    public void setUp() throws Exception {
+        try (Connection connection = ContactFixtures.connect()) {
+            userId = ContactFixtures.seedUser(connection, 100_000);
+            contactId = ContactFixtures.queryForLong(connection,
+                    "select min(id) + 5000 from contacts where user_id = ?", userId);
+        }
+
+        context = SpringApplication.run(SpringContactApiApplication.class, ContactFixtures.springProperties());
+        contactRepository = context.getBean(ContactRepository.class);
+
+        SearchContactRequest request = new SearchContactRequest();
+        request.setUser(new AuthenticatedUser(userId, "benchmark", "benchmark", Long.MAX_VALUE));
+        request.setName("ja");
+        specification = ContactSpecifications.search(request, SearchBackend.TRIGRAM, "62");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ContactResponse get() {
+        if (readPath.equals("entity")) {
+            return contactRepository.findByUserIdAndId(userId, contactId).map(ContactReadPathBenchmark::toResponse)
+                    .orElseThrow();
+        }
+        return contactRepository.findResponseByUserIdAndId(userId, contactId).orElseThrow();
+    }
+
+    @Benchmark
+    public List<ContactResponse> search() {
+        if (readPath.equals("entity")) {
+            return contactRepository.findAll(specification, PageRequest.of(1, SIZE)).getContent().stream()
+                    .map(ContactReadPathBenchmark::toResponse)
+                    .toList();
+        }
+        return contactRepository.findContent(specification, SIZE, SIZE, Duration.ofSeconds(5L));
+    }
+
+    private static ContactResponse toResponse(Contact contact) {
+        return new ContactResponse(contact.getId(), contact.getFirstName(), contact.getLastName(), contact.getEmail(),
+                contact.getPhone());
+    }
+}
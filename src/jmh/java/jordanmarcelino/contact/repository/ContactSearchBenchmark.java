@@ -0,0 +1,93 @@
+package jordanmarcelino.contact.repository;
+
+import jordanmarcelino.contact.search.SearchBackend;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page plus count latency of a name search with the {@link SearchBackend#LIKE} and
+ * {@link SearchBackend#TRIGRAM} predicates, against a live PostgreSQL that has
+ * {@code schema_001_contact_trigram_indexes.sql} and {@code schema_006_contact_full_name_lower.sql} applied.
+ * The statements mirror what {@link ContactSpecifications} renders. Sample mode reports p50 and p99.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContactSearchBenchmark {
+
+    private static final String LIKE_PREDICATE = "(first_name like ? or last_name like ?)";
+
+    private static final String TRIGRAM_PREDICATE = "full_name_lower like ? escape '\\'";
+
+    @Param({"10000", "100000", "1000000"})
+    private int contacts;
+
+    @Param({"LIKE", "TRIGRAM"})
+    private SearchBackend backend;
+
+    @Param({"selective", "common"})
+    private String term;
+
+    private Connection connection;
+
+    private PreparedStatement page;
+
+    private PreparedStatement count;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = ContactFixtures.connect();
+        long userId = ContactFixtures.seedUser(connection, contacts);
+
+        String value = term.equals("common")
+                ? "ames"
+                : ContactFixtures.queryForString(connection,
+                "select substr(last_name, 3, 4) from contacts where user_id = ? offset ? limit 1",
+                userId, contacts / 2);
+        String pattern = backend == SearchBackend.LIKE
+                ? "%" + value + "%"
+                : "%" + ContactSpecifications.escape(value.toLowerCase(Locale.ROOT)) + "%";
+        String predicate = backend == SearchBackend.LIKE ? LIKE_PREDICATE : TRIGRAM_PREDICATE;
+        int patterns = backend == SearchBackend.LIKE ? 2 : 1;
+
+        page = connection.prepareStatement(
+                "select id, first_name, last_name, email, phone from contacts where user_id = ? and " + predicate
+                        + " offset 0 limit 10");
+        count = connection.prepareStatement("select count(*) from contacts where user_id = ? and " + predicate);
+        for (PreparedStatement statement : new PreparedStatement[]{page, count}) {
+            statement.setLong(1, userId);
+            for (int i = 0; i < patterns; i++) {
+                statement.setString(2 + i, pattern);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void search(Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = page.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong(1));
+                blackhole.consume(resultSet.getString(2));
+            }
+        }
+        try (ResultSet resultSet = count.executeQuery()) {
+            resultSet.next();
+            blackhole.consume(resultSet.getLong(1));
+        }
+    }
+}
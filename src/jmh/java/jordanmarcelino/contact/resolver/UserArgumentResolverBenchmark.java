@@ -0,0 +1,93 @@
+package jordanmarcelino.contact.resolver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import jordanmarcelino.contact.config.TokenCacheProperties;
+import jordanmarcelino.contact.config.TokenFilterProperties;
+import jordanmarcelino.contact.config.TokenProperties;
+import jordanmarcelino.contact.repository.UserRepository;
+import jordanmarcelino.contact.security.AuthenticatedUser;
+import jordanmarcelino.contact.security.SessionStore;
+import jordanmarcelino.contact.security.SignedTokenCodec;
+import jordanmarcelino.contact.security.TokenAuthenticator;
+import jordanmarcelino.contact.security.TokenCache;
+import jordanmarcelino.contact.security.TokenFilter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Resolver latency with the token cache on and off. The repository is a stub that parks for
+ * {@code dbLatencyMicros} to stand in for the {@code findPrincipalByToken} round trip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserArgumentResolverBenchmark {
+
+    @Param({"false", "true"})
+    private boolean cacheEnabled;
+
+    @Param({"0", "300"})
+    private long dbLatencyMicros;
+
+    private UserArgumentResolver resolver;
+
+    private NativeWebRequest webRequest;
+
+    @Setup
+    public void setUp() {
+        String token = UUID.randomUUID().toString();
+
+        AuthenticatedUser user = new AuthenticatedUser(1L, "benchmark", "benchmark",
+                Instant.now().plus(Duration.ofDays(1L)).toEpochMilli());
+
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findPrincipalByToken")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    if (dbLatencyMicros > 0) {
+                        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(dbLatencyMicros));
+                    }
+                    return Optional.of(user);
+                }
+        );
+
+        TokenCacheProperties cacheProperties = new TokenCacheProperties();
+        cacheProperties.setEnabled(cacheEnabled);
+        TokenProperties tokenProperties = new TokenProperties();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        resolver = new UserArgumentResolver(new TokenAuthenticator(
+                userRepository,
+                new TokenCache(cacheProperties, meterRegistry),
+                new SignedTokenCodec(tokenProperties),
+                tokenProperties,
+                new TokenFilter(new TokenFilterProperties(), null, null, meterRegistry),
+                new SessionStore(null, tokenProperties)
+        ));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("X-API-KEY", token));
+        webRequest = new ServletWebRequest(request);
+    }
+
+    @Benchmark
+    public Object resolve() throws Exception {
+        return resolver.resolveArgument(null, null, webRequest, null);
+    }
+}
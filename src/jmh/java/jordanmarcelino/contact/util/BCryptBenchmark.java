@@ -0,0 +1,51 @@
+package jordanmarcelino.contact.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the bundled {@link BCrypt} with {@link FastBCrypt}. Run with {@code -prof gc} to see the
+ * per-hash allocation difference.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BCryptBenchmark {
+
+    @Param({"10", "11", "12"})
+    private int cost;
+
+    private String salt;
+
+    private String hashed;
+
+    @Setup
+    public void setUp() {
+        salt = BCrypt.gensalt(cost);
+        hashed = BCrypt.hashpw("supersecret", salt);
+    }
+
+    @Benchmark
+    public String hashpwBCrypt() {
+        return BCrypt.hashpw("supersecret", salt);
+    }
+
+    @Benchmark
+    public String hashpwFastBCrypt() {
+        return FastBCrypt.hashpw("supersecret", salt);
+    }
+
+    @Benchmark
+    public boolean checkpwBCrypt() {
+        return BCrypt.checkpw("supersecret", hashed);
+    }
+
+    @Benchmark
+    public boolean checkpwFastBCrypt() {
+        return FastBCrypt.checkpw("supersecret", hashed);
+    }
+}
@@ -0,0 +1,78 @@
+package jordanmarcelino.contact.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds every dictionary word within {@code maxDistance} of a misspelt query with
+ * {@link LevenshteinMatcher} versus a scan that runs the bounded {@link Levenshtein} distance against
+ * every word. Words are random strings of 3 to 10 letters, which share fewer prefixes than real names
+ * and so understate the matcher; each query is a dictionary word with one letter replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LevenshteinMatcherBenchmark {
+
+    private static final int QUERIES = 256;
+
+    @Param({"10000", "100000"})
+    private int words;
+
+    @Param({"1", "2"})
+    private int maxDistance;
+
+    private String[] dictionary;
+
+    private String[] queries;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        TreeSet<String> sorted = new TreeSet<>();
+        while (sorted.size() < words) {
+            char[] chars = new char[3 + random.nextInt(8)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) ('a' + random.nextInt(26));
+            }
+            sorted.add(new String(chars));
+        }
+        dictionary = sorted.toArray(new String[0]);
+
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            char[] chars = dictionary[random.nextInt(words)].toCharArray();
+            chars[random.nextInt(chars.length)] = (char) ('a' + random.nextInt(26));
+            queries[i] = new String(chars);
+        }
+    }
+
+    @Benchmark
+    public void matcher(Blackhole blackhole) {
+        LevenshteinMatcher.search(dictionary, dictionary.length, nextQuery(), maxDistance,
+                (index, distance) -> blackhole.consume(index));
+    }
+
+    @Benchmark
+    public void bruteForce(Blackhole blackhole) {
+        String query = nextQuery();
+        for (int i = 0; i < dictionary.length; i++) {
+            if (Levenshtein.distance(query, dictionary[i], maxDistance) <= maxDistance) {
+                blackhole.consume(i);
+            }
+        }
+    }
+
+    private String nextQuery() {
+        return queries[next++ & (QUERIES - 1)];
+    }
+}
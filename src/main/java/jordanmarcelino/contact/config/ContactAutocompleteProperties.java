@@ -0,0 +1,29 @@
+package jordanmarcelino.contact.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.contact.autocomplete")
+public class ContactAutocompleteProperties {
+
+    /**
+     * Serves autocomplete and fuzzy name search from per-user in-memory name dictionaries; when off every call
+     * queries the database, which applies the same matching rules.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on the memory held by all loaded name dictionaries.
+     */
+    private DataSize memoryBudget = DataSize.ofMegabytes(64L);
+
+    /**
+     * How long a user whose dictionary alone exceeded the memory budget is served by the database
+     * before a load is tried again.
+     */
+    private Duration oversizedRetryInterval = Duration.ofMinutes(10L);
+}
@@ -0,0 +1,31 @@
+package jordanmarcelino.contact.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.contact.phonetic")
+public class ContactPhoneticProperties {
+
+    /**
+     * Fill the phonetic keys of contacts written before they existed.
+     */
+    private boolean backfillEnabled = true;
+
+    private Duration backfillInitialDelay = Duration.ofSeconds(30L);
+
+    private Duration backfillInterval = Duration.ofMinutes(10L);
+
+    private int batchSize = 1_000;
+
+    private Duration pauseBetweenBatches = Duration.ofMillis(50L);
+
+    /**
+     * Take a PostgreSQL advisory lock for the whole pass so only one instance backfills at a time.
+     */
+    private boolean singleNode = true;
+
+    private long advisoryLockKey = 7_364_002L;
+}
@@ -0,0 +1,65 @@
+package jordanmarcelino.contact.config;
+
+import jordanmarcelino.contact.search.SearchBackend;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.contact.search")
+public class ContactSearchProperties {
+
+    private SearchBackend backend = SearchBackend.TRIGRAM;
+
+    /**
+     * Upper bound on the memory held by all per-user indexes of {@link SearchBackend#MEMORY}.
+     */
+    private DataSize memoryBudget = DataSize.ofMegabytes(256L);
+
+    /**
+     * How long a user whose index alone exceeded the memory budget is served by the database before a
+     * load is tried again.
+     */
+    private Duration oversizedRetryInterval = Duration.ofMinutes(10L);
+
+    /**
+     * Most matches counted for {@code total=estimate} before the total is reported as a lower bound.
+     */
+    private int estimateCap = 10_000;
+
+    private int countCacheMaxSize = 10_000;
+
+    /**
+     * Bounds how long an exact total can lag behind writes made through another instance.
+     */
+    private Duration countCacheTtl = Duration.ofSeconds(60L);
+
+    private boolean resultCacheEnabled = true;
+
+    /**
+     * Upper bound on the estimated memory held by cached search results.
+     */
+    private DataSize resultCacheMaxSize = DataSize.ofMegabytes(32L);
+
+    /**
+     * Bounds how long a cached result can lag behind writes made through another instance.
+     */
+    private Duration resultCacheTtl = Duration.ofSeconds(30L);
+
+    /**
+     * Time a search may take end to end; also applied as the statement timeout of its queries.
+     */
+    private Duration deadline = Duration.ofSeconds(2L);
+
+    /**
+     * Runs the count of {@code total=exact} on its own connection alongside the content query.
+     */
+    private boolean parallelCount = false;
+
+    /**
+     * Requests allowed to hold a second connection for the parallel count at the same time.
+     */
+    private int parallelCountMaxConcurrency = 8;
+}
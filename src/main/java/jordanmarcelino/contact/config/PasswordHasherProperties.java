@@ -0,0 +1,28 @@
+package jordanmarcelino.contact.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.auth.password-hasher")
+public class PasswordHasherProperties {
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private int queueCapacity = 64;
+
+    /**
+     * Background hashes, e.g. rehashes after a login, are dropped while this many hashes are already
+     * queued, so they never take the queue from requests waiting for their hash.
+     */
+    private int backgroundQueueThreshold = 16;
+
+    /**
+     * Longest a request waits for its hash, queueing included, before it gets a 503.
+     */
+    private Duration timeout = Duration.ofSeconds(5L);
+
+    private Duration retryAfter = Duration.ofSeconds(1L);
+}
@@ -0,0 +1,33 @@
+package jordanmarcelino.contact.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.auth.password-policy")
+public class PasswordPolicyProperties {
+
+    private Duration targetHashTime = Duration.ofMillis(250L);
+
+    private int minCost = 10;
+
+    private int maxCost = 14;
+
+    /**
+     * Skips the startup calibration and always hashes with this cost.
+     */
+    private Integer fixedCost;
+
+    private boolean rehashOnLogin = true;
+
+    private int rehashWriterThreads = 1;
+
+    /**
+     * Pending rehash writes; a rehash that finds the queue full is dropped and retried on a later login.
+     */
+    private int rehashQueueCapacity = 1_000;
+
+    private Duration statsRefreshInterval = Duration.ofMinutes(10L);
+}
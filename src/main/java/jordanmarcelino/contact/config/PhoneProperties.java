@@ -0,0 +1,14 @@
+package jordanmarcelino.contact.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.contact.phone")
+public class PhoneProperties {
+
+    /**
+     * Replaces the trunk prefix {@code 0} of national numbers when they are normalized.
+     */
+    private String defaultCountryCode = "62";
+}
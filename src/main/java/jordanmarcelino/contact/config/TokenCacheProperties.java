@@ -0,0 +1,17 @@
+package jordanmarcelino.contact.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.auth.token-cache")
+public class TokenCacheProperties {
+
+    private boolean enabled = false;
+
+    private int maxSize = 10_000;
+
+    private Duration ttl = Duration.ofSeconds(60L);
+}
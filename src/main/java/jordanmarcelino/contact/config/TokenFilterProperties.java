@@ -0,0 +1,30 @@
+package jordanmarcelino.contact.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.auth.token-filter")
+public class TokenFilterProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Reject tokens missing from the Bloom filter without a lookup. Opt in only when every login is
+     * served by this instance; otherwise tokens issued elsewhere are unknown until the next rebuild.
+     * When off, only the negative cache rejects and a filter miss still goes to the lookup.
+     */
+    private boolean rejectOnFilterMiss = false;
+
+    private double falsePositiveProbability = 0.01;
+
+    private long minExpectedTokens = 10_000;
+
+    private Duration rebuildInterval = Duration.ofMinutes(5L);
+
+    private Duration negativeTtl = Duration.ofSeconds(30L);
+
+    private int negativeMaxSize = 100_000;
+}
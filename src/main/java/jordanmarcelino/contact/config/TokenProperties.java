@@ -0,0 +1,30 @@
+package jordanmarcelino.contact.config;
+
+import jordanmarcelino.contact.security.TokenMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.auth.token")
+public class TokenProperties {
+
+    private TokenMode mode = TokenMode.OPAQUE;
+
+    /**
+     * Issue opaque and session tokens as {@code <id>.<secret>}. Tokens without an id prefix are
+     * still accepted through the token index.
+     */
+    private boolean routable = true;
+
+    private Duration ttl = Duration.ofDays(30L);
+
+    private String secret;
+
+    private Duration epochRevalidateInterval = Duration.ofSeconds(30L);
+
+    private int maxKnownEpochs = 100_000;
+
+    private double slidingRefreshFraction = 0.1;
+}
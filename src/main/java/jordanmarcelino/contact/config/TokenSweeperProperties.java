@@ -0,0 +1,28 @@
+package jordanmarcelino.contact.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.auth.token-sweeper")
+public class TokenSweeperProperties {
+
+    private boolean enabled = true;
+
+    private Duration interval = Duration.ofMinutes(10L);
+
+    private int batchSize = 1_000;
+
+    private int maxBatches = 100;
+
+    private Duration pauseBetweenBatches = Duration.ofMillis(50L);
+
+    /**
+     * Take a PostgreSQL advisory lock for the whole pass so only one instance sweeps at a time.
+     */
+    private boolean singleNode = true;
+
+    private long advisoryLockKey = 7_364_001L;
+}
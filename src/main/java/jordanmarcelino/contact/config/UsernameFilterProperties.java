@@ -0,0 +1,24 @@
+package jordanmarcelino.contact.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.auth.username-filter")
+public class UsernameFilterProperties {
+
+    private boolean enabled = true;
+
+    private double falsePositiveProbability = 0.01;
+
+    private long minExpectedUsernames = 10_000;
+
+    /**
+     * The filter is rebuilt once its expected false-positive rate exceeds the target by this factor.
+     */
+    private double rebuildThreshold = 2.0;
+
+    private Duration checkInterval = Duration.ofMinutes(10L);
+}
@@ -1,7 +1,7 @@
 package jordanmarcelino.contact.controller;
 
 import jordanmarcelino.contact.dto.*;
-import jordanmarcelino.contact.entity.User;
+import jordanmarcelino.contact.security.AuthenticatedUser;
 import jordanmarcelino.contact.service.AddressService;
 import jordanmarcelino.contact.util.Message;
 import lombok.AllArgsConstructor;
@@ -24,7 +24,7 @@ public class AddressController {
     )
     @ResponseStatus(HttpStatus.OK)
     public WebResponse<List<AddressResponse>> get(
-            User user,
+            AuthenticatedUser user,
             @PathVariable("contactId") Long contactId
     ) {
         GetAddressRequest request = new GetAddressRequest();
@@ -45,7 +45,7 @@ public class AddressController {
     )
     @ResponseStatus(HttpStatus.CREATED)
     public WebResponse<AddressResponse> save(
-            User user,
+            AuthenticatedUser user,
             @RequestBody CreateAddressRequest request,
             @PathVariable("contactId") Long contactId
     ) {
@@ -67,7 +67,7 @@ public class AddressController {
     )
     @ResponseStatus(HttpStatus.OK)
     public WebResponse<AddressResponse> update(
-            User user,
+            AuthenticatedUser user,
             @RequestBody UpdateAddressRequest request,
             @PathVariable("contactId") Long contactId,
             @PathVariable("addressId") Long addressId
@@ -90,7 +90,7 @@ public class AddressController {
     )
     @ResponseStatus(HttpStatus.OK)
     public WebResponse<AddressResponse> delete(
-            User user,
+            AuthenticatedUser user,
             @PathVariable("contactId") Long contactId,
             @PathVariable("addressId") Long addressId
     ) {
@@ -107,7 +107,7 @@ public class AddressController {
     )
     @ResponseStatus(HttpStatus.OK)
     public WebResponse<AddressResponse> get(
-            User user,
+            AuthenticatedUser user,
             @PathVariable("contactId") Long contactId,
             @PathVariable("addressId") Long addressId
     ) {
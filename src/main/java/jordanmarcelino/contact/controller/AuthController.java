@@ -3,7 +3,7 @@ package jordanmarcelino.contact.controller;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import jordanmarcelino.contact.dto.*;
-import jordanmarcelino.contact.entity.User;
+import jordanmarcelino.contact.security.AuthenticatedUser;
 import jordanmarcelino.contact.service.AuthService;
 import jordanmarcelino.contact.util.Message;
 import lombok.AllArgsConstructor;
@@ -57,8 +57,8 @@ public class AuthController {
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     @ResponseStatus(HttpStatus.OK)
-    public WebResponse<Object> logout(User user) {
-        authService.logout(user);
+    public WebResponse<Object> logout(AuthenticatedUser user, @CookieValue(name = "X-API-KEY") String token) {
+        authService.logout(user, token);
 
         return WebResponse.builder()
                 .message(Message.SUCCESS)
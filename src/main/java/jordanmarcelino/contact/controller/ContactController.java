@@ -1,16 +1,21 @@
 package jordanmarcelino.contact.controller;
 
 import jordanmarcelino.contact.dto.*;
-import jordanmarcelino.contact.entity.User;
+import jordanmarcelino.contact.search.ContactCursor;
+import jordanmarcelino.contact.search.EstimatedPage;
+import jordanmarcelino.contact.security.AuthenticatedUser;
 import jordanmarcelino.contact.service.ContactService;
 import jordanmarcelino.contact.util.Message;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/contacts")
@@ -25,7 +30,7 @@ public class ContactController {
             consumes = MediaType.APPLICATION_JSON_VALUE
     )
     @ResponseStatus(HttpStatus.CREATED)
-    public WebResponse<ContactResponse> save(User user, @RequestBody CreateContactRequest request) {
+    public WebResponse<ContactResponse> save(AuthenticatedUser user, @RequestBody CreateContactRequest request) {
         request.setUser(user);
         ContactResponse response = contactService.save(request);
 
@@ -35,12 +40,31 @@ public class ContactController {
                 .build();
     }
 
+    @GetMapping(
+            path = "/autocomplete",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @ResponseStatus(HttpStatus.OK)
+    public WebResponse<List<ContactSuggestionResponse>> autocomplete(
+            AuthenticatedUser user,
+            @RequestParam(name = "prefix", required = false) String prefix,
+            @RequestParam(name = "limit", required = false, defaultValue = "10") Integer limit
+    ) {
+        List<ContactSuggestionResponse> response = contactService.autocomplete(
+                new AutocompleteContactRequest(user, prefix, limit));
+
+        return WebResponse.<List<ContactSuggestionResponse>>builder()
+                .message(Message.SUCCESS)
+                .data(response)
+                .build();
+    }
+
     @GetMapping(
             path = "/{contactId}",
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     @ResponseStatus(HttpStatus.OK)
-    public WebResponse<ContactResponse> get(User user, @PathVariable("contactId") Long contactId) {
+    public WebResponse<ContactResponse> get(AuthenticatedUser user, @PathVariable("contactId") Long contactId) {
         ContactResponse response = contactService.get(new GetContactRequest(user, contactId));
 
         return WebResponse.<ContactResponse>builder()
@@ -56,7 +80,7 @@ public class ContactController {
     )
     @ResponseStatus(HttpStatus.OK)
     public WebResponse<ContactResponse> update(
-            User user,
+            AuthenticatedUser user,
             @RequestBody UpdateContactRequest request,
             @PathVariable("contactId") Long contactId
     ) {
@@ -76,7 +100,7 @@ public class ContactController {
     )
     @ResponseStatus(HttpStatus.OK)
     public WebResponse<ContactResponse> delete(
-            User user,
+            AuthenticatedUser user,
             @PathVariable("contactId") Long contactId
     ) {
         contactService.delete(new DeleteContactRequest(user, contactId));
@@ -92,26 +116,52 @@ public class ContactController {
     )
     @ResponseStatus(HttpStatus.OK)
     public WebResponse<List<ContactResponse>> search(
-            User user,
+            AuthenticatedUser user,
             @RequestParam(name = "name", required = false) String name,
             @RequestParam(name = "email", required = false) String email,
             @RequestParam(name = "phone", required = false) String phone,
             @RequestParam(name = "page", required = false, defaultValue = "0") Integer page,
-            @RequestParam(name = "size", required = false, defaultValue = "10") Integer size
+            @RequestParam(name = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "total", required = false, defaultValue = "exact") String total,
+            @RequestParam(name = "q", required = false) String q,
+            @RequestParam(name = "fuzzy", required = false, defaultValue = "false") Boolean fuzzy,
+            @RequestParam(name = "phonetic", required = false, defaultValue = "false") Boolean phonetic
     ) {
-        Page<ContactResponse> response = contactService.search(new SearchContactRequest(user, name, email, phone,
-                page, size));
+        SearchContactRequest request = new SearchContactRequest(user, name, email, phone, page, size, cursor, total,
+                q, fuzzy, phonetic);
+        if (Objects.nonNull(cursor)) {
+            Window<ContactResponse> window = contactService.scroll(request);
+
+            return WebResponse.<List<ContactResponse>>builder()
+                    .message(Message.SUCCESS)
+                    .data(window.getContent())
+                    .paging(
+                            WebResponse.PageMetaData.builder()
+                                    .size(size)
+                                    .hasNext(window.hasNext())
+                                    .nextCursor(window.hasNext()
+                                            ? ContactCursor.encode(window.positionAt(window.size() - 1))
+                                            : null)
+                                    .build()
+                    )
+                    .build();
+        }
+
+        Slice<ContactResponse> response = contactService.search(request);
+        WebResponse.PageMetaData.PageMetaDataBuilder paging = WebResponse.PageMetaData.builder()
+                .size(response.getSize())
+                .hasNext(response.hasNext());
+        if (response instanceof EstimatedPage<ContactResponse> estimated) {
+            paging.total(estimated.getTotalElements() + "+");
+        } else if (response instanceof Page<ContactResponse> exact) {
+            paging.totalPage(exact.getTotalPages()).total(String.valueOf(exact.getTotalElements()));
+        }
 
         return WebResponse.<List<ContactResponse>>builder()
                 .message(Message.SUCCESS)
                 .data(response.getContent())
-                .paging(
-                        WebResponse.PageMetaData.builder()
-                                .totalPage(response.getTotalPages())
-                                .size(response.getSize())
-                                .hasNext(response.hasNext())
-                                .build()
-                )
+                .paging(paging.build())
                 .build();
     }
 
@@ -54,6 +54,7 @@ public class ErrorController {
     public ResponseEntity<WebResponse<Object>> handleResponseStatusException(ResponseStatusException exception) {
         return ResponseEntity
                 .status(exception.getStatusCode())
+                .headers(exception.getHeaders())
                 .body(WebResponse.builder().message(exception.getMessage()).build());
     }
 
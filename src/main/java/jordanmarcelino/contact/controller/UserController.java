@@ -3,7 +3,7 @@ package jordanmarcelino.contact.controller;
 import jordanmarcelino.contact.dto.UpdateUserRequest;
 import jordanmarcelino.contact.dto.UserResponse;
 import jordanmarcelino.contact.dto.WebResponse;
-import jordanmarcelino.contact.entity.User;
+import jordanmarcelino.contact.security.AuthenticatedUser;
 import jordanmarcelino.contact.service.UserService;
 import jordanmarcelino.contact.util.Message;
 import lombok.AllArgsConstructor;
@@ -23,7 +23,7 @@ public class UserController {
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     @ResponseStatus(HttpStatus.OK)
-    public WebResponse<UserResponse> get(User user) {
+    public WebResponse<UserResponse> get(AuthenticatedUser user) {
         UserResponse response = userService.get(user);
 
         return WebResponse.<UserResponse>builder()
@@ -38,7 +38,7 @@ public class UserController {
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     @ResponseStatus(HttpStatus.OK)
-    public WebResponse<UserResponse> update(User user, @RequestBody UpdateUserRequest request) {
+    public WebResponse<UserResponse> update(AuthenticatedUser user, @RequestBody UpdateUserRequest request) {
         UserResponse response = userService.update(user, request);
 
         return WebResponse.<UserResponse>builder()
@@ -52,7 +52,7 @@ public class UserController {
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     @ResponseStatus(HttpStatus.OK)
-    public WebResponse<UserResponse> delete(User user) {
+    public WebResponse<UserResponse> delete(AuthenticatedUser user) {
         userService.delete(user);
 
         return WebResponse.<UserResponse>builder()
@@ -0,0 +1,30 @@
+package jordanmarcelino.contact.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import jordanmarcelino.contact.security.AuthenticatedUser;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AutocompleteContactRequest {
+
+    @JsonIgnore
+    private AuthenticatedUser user;
+
+    @NotBlank
+    @Size(max = 200)
+    private String prefix;
+
+    @Min(value = 1)
+    @Max(value = 50)
+    private Integer limit;
+}
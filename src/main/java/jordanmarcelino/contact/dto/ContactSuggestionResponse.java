@@ -0,0 +1,19 @@
+package jordanmarcelino.contact.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ContactSuggestionResponse {
+
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+}
@@ -3,7 +3,7 @@ package jordanmarcelino.contact.dto;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
-import jordanmarcelino.contact.entity.User;
+import jordanmarcelino.contact.security.AuthenticatedUser;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,7 +16,7 @@ import lombok.NoArgsConstructor;
 public class CreateAddressRequest {
 
     @JsonIgnore
-    private User user;
+    private AuthenticatedUser user;
 
     @JsonIgnore
     private Long contactId;
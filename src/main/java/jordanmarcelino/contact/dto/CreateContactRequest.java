@@ -4,7 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
-import jordanmarcelino.contact.entity.User;
+import jordanmarcelino.contact.security.AuthenticatedUser;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,7 +17,7 @@ import lombok.NoArgsConstructor;
 public class CreateContactRequest {
 
     @JsonIgnore
-    private User user;
+    private AuthenticatedUser user;
 
     @NotBlank
     @Size(max = 100)
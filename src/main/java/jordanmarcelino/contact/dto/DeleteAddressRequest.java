@@ -1,7 +1,7 @@
 package jordanmarcelino.contact.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import jordanmarcelino.contact.entity.User;
+import jordanmarcelino.contact.security.AuthenticatedUser;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,7 +14,7 @@ import lombok.NoArgsConstructor;
 public class DeleteAddressRequest {
 
     @JsonIgnore
-    private User user;
+    private AuthenticatedUser user;
 
     @JsonIgnore
     private Long id;
@@ -2,8 +2,9 @@ package jordanmarcelino.contact.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
-import jordanmarcelino.contact.entity.User;
+import jordanmarcelino.contact.security.AuthenticatedUser;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,7 +17,7 @@ import lombok.NoArgsConstructor;
 public class SearchContactRequest {
 
     @JsonIgnore
-    private User user;
+    private AuthenticatedUser user;
 
     @Size(max = 200)
     private String name;
@@ -32,4 +33,17 @@ public class SearchContactRequest {
 
     @Min(value = 1)
     private Integer size;
+
+    @Size(max = 64)
+    private String cursor;
+
+    @Pattern(regexp = "exact|none|estimate")
+    private String total;
+
+    @Size(max = 200)
+    private String q;
+
+    private Boolean fuzzy;
+
+    private Boolean phonetic;
 }
@@ -43,5 +43,9 @@ public class WebResponse<T> {
         private Integer size;
 
         private boolean hasNext;
+
+        private String nextCursor;
+
+        private String total;
     }
 }
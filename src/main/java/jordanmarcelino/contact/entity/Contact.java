@@ -31,10 +31,25 @@ public class Contact {
     @Column(name = "last_name")
     private String lastName;
 
+    @Column(name = "full_name_lower", insertable = false, updatable = false)
+    private String fullNameLower;
+
+    @Column(name = "first_name_phonetic")
+    private String firstNamePhonetic;
+
+    @Column(name = "last_name_phonetic")
+    private String lastNamePhonetic;
+
     private String email;
 
     private String phone;
 
+    @Column(name = "phone_digits")
+    private String phoneDigits;
+
+    @Column(name = "phone_digits_reversed")
+    private String phoneDigitsReversed;
+
     @CreatedDate
     @Column(name = "created_at")
     private Instant createdAt;
@@ -38,6 +38,9 @@ public class User {
     @Column(name = "token_expired_at")
     private Long tokenExpiredAt;
 
+    @Column(name = "token_epoch", insertable = false, updatable = false)
+    private Long tokenEpoch;
+
     @CreatedDate
     @Column(name = "created_at")
     private Instant createdAt;
@@ -0,0 +1,11 @@
+package jordanmarcelino.contact.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class InvalidCursorException extends ResponseStatusException {
+
+    public InvalidCursorException() {
+        super(HttpStatus.BAD_REQUEST, "invalid cursor");
+    }
+}
@@ -0,0 +1,11 @@
+package jordanmarcelino.contact.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class InvalidSearchException extends ResponseStatusException {
+
+    public InvalidSearchException(String reason) {
+        super(HttpStatus.BAD_REQUEST, reason);
+    }
+}
@@ -1,13 +1,52 @@
 package jordanmarcelino.contact.repository;
 
+import jordanmarcelino.contact.dto.ContactResponse;
+import jordanmarcelino.contact.dto.ContactSuggestionResponse;
 import jordanmarcelino.contact.entity.Contact;
-import jordanmarcelino.contact.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface ContactRepository extends JpaRepository<Contact, Long>, JpaSpecificationExecutor<Contact> {
+public interface ContactRepository extends JpaRepository<Contact, Long>, JpaSpecificationExecutor<Contact>,
+        ContactRepositoryCustom {
 
-    Optional<Contact> findByUserAndId(User user, Long id);
+    Optional<Contact> findByUserIdAndId(Long userId, Long id);
+
+    @Query("""
+            select new jordanmarcelino.contact.dto.ContactResponse(c.id, c.firstName, c.lastName, c.email, c.phone)
+            from Contact c
+            where c.user.id = :userId and c.id = :id
+            """)
+    Optional<ContactResponse> findResponseByUserIdAndId(@Param("userId") Long userId, @Param("id") Long id);
+
+    @Query("""
+            select new jordanmarcelino.contact.dto.ContactResponse(c.id, c.firstName, c.lastName, c.email, c.phone)
+            from Contact c
+            where c.id in :ids
+            """)
+    List<ContactResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new jordanmarcelino.contact.dto.ContactSuggestionResponse(c.id, c.firstName, c.lastName)
+            from Contact c
+            where c.user.id = :userId
+              and (c.fullNameLower like :pattern escape '\\'
+                   or lower(c.lastName) like :pattern escape '\\')
+            order by lower(c.firstName), lower(c.lastName), c.id
+            """)
+    List<ContactSuggestionResponse> findSuggestionsByPattern(@Param("userId") Long userId,
+                                                             @Param("pattern") String pattern, Limit limit);
+
+    /**
+     * Database fallback of autocomplete for a lower-cased {@code prefix}.
+     */
+    default List<ContactSuggestionResponse> findSuggestions(Long userId, String prefix, int limit) {
+        return findSuggestionsByPattern(userId, ContactSpecifications.escape(prefix) + "%", Limit.of(limit));
+    }
 }
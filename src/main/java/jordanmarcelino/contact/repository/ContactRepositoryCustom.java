@@ -0,0 +1,56 @@
+package jordanmarcelino.contact.repository;
+
+import jordanmarcelino.contact.dto.ContactResponse;
+import jordanmarcelino.contact.entity.Contact;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Search queries that take a statement timeout, rounded up to whole seconds as JDBC requires.
+ */
+public interface ContactRepositoryCustom {
+
+    /**
+     * Page content without the count query {@code findAll(Specification, Pageable)} always runs, selected
+     * straight into {@link ContactResponse} so no entity is loaded or tracked.
+     */
+    List<ContactResponse> findContent(Specification<Contact> specification, long offset, int limit,
+                                      Duration timeout);
+
+    /**
+     * Keyset page: the first {@code limit} matches with an id greater than {@code afterId}, in id order.
+     */
+    List<ContactResponse> findContentAfter(Specification<Contact> specification, long afterId, int limit,
+                                           Duration timeout);
+
+    long count(Specification<Contact> specification, Duration timeout);
+
+    /**
+     * Counts matches but stops after {@code cap + 1}, so the result is exact only when it is at most {@code cap}.
+     */
+    long countUpTo(Specification<Contact> specification, int cap, Duration timeout);
+
+    /**
+     * Full-text matches of {@code tsQuery} over the maintained {@code contacts.search_vector}, most
+     * relevant first.
+     */
+    List<ContactResponse> findRanked(Long userId, String tsQuery, long offset, int limit, Duration timeout);
+
+    long countRanked(Long userId, String tsQuery, Duration timeout);
+
+    long countRankedUpTo(Long userId, String tsQuery, int cap, Duration timeout);
+
+    /**
+     * Contacts whose first or last name contains, for every one of {@code words}, a word within
+     * {@code ContactTextQuery.fuzzyDistance} of it, closest first by the summed distance, then by id: the rule
+     * of {@code ContactNameDictionary.fuzzy}, so fuzzy search answers the same when it falls back here because the
+     * dictionary is not available. Scans all of the user's contacts.
+     */
+    List<ContactResponse> findSimilar(Long userId, List<String> words, long offset, int limit, Duration timeout);
+
+    long countSimilar(Long userId, List<String> words, Duration timeout);
+
+    long countSimilarUpTo(Long userId, List<String> words, int cap, Duration timeout);
+}
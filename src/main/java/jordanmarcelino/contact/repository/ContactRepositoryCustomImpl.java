@@ -0,0 +1,242 @@
+package jordanmarcelino.contact.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jordanmarcelino.contact.dto.ContactResponse;
+import jordanmarcelino.contact.entity.Contact;
+import jordanmarcelino.contact.search.ContactTextQuery;
+import lombok.AllArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@AllArgsConstructor
+public class ContactRepositoryCustomImpl implements ContactRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<ContactResponse> findContent(Specification<Contact> specification, long offset, int limit,
+                                             Duration timeout) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ContactResponse> query = builder.createQuery(ContactResponse.class);
+        Root<Contact> root = query.from(Contact.class);
+        query.select(response(builder, root));
+        where(query, specification.toPredicate(root, query, builder));
+
+        return withTimeout(entityManager.createQuery(query), timeout)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<ContactResponse> findContentAfter(Specification<Contact> specification, long afterId, int limit,
+                                                  Duration timeout) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ContactResponse> query = builder.createQuery(ContactResponse.class);
+        Root<Contact> root = query.from(Contact.class);
+        query.select(response(builder, root));
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        Predicate after = builder.greaterThan(root.get("id"), afterId);
+        query.where(Objects.isNull(predicate) ? after : builder.and(predicate, after));
+        query.orderBy(builder.asc(root.get("id")));
+
+        return withTimeout(entityManager.createQuery(query), timeout)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public long count(Specification<Contact> specification, Duration timeout) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Contact> root = query.from(Contact.class);
+        query.select(builder.count(root));
+        where(query, specification.toPredicate(root, query, builder));
+
+        return withTimeout(entityManager.createQuery(query), timeout).getSingleResult();
+    }
+
+    @Override
+    public long countUpTo(Specification<Contact> specification, int cap, Duration timeout) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Contact> root = query.from(Contact.class);
+        query.select(root.get("id"));
+        where(query, specification.toPredicate(root, query, builder));
+
+        try (Stream<Long> ids = withTimeout(entityManager.createQuery(query), timeout)
+                .setMaxResults(cap + 1)
+                .getResultStream()) {
+            return ids.count();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ContactResponse> findRanked(Long userId, String tsQuery, long offset, int limit, Duration timeout) {
+        Query query = entityManager.createNativeQuery("""
+                select c.id, c.first_name, c.last_name, c.email, c.phone
+                from contacts c, to_tsquery('simple', :query) q
+                where c.user_id = :userId and c.search_vector @@ q
+                order by ts_rank_cd(c.search_vector, q) desc, c.id
+                """);
+        List<Object[]> rows = withTimeout(query, timeout)
+                .setParameter("userId", userId)
+                .setParameter("query", tsQuery)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> new ContactResponse(((Number) row[0]).longValue(), (String) row[1], (String) row[2],
+                        (String) row[3], (String) row[4]))
+                .toList();
+    }
+
+    @Override
+    public long countRanked(Long userId, String tsQuery, Duration timeout) {
+        Query query = entityManager.createNativeQuery("""
+                select count(*)
+                from contacts c
+                where c.user_id = :userId and c.search_vector @@ to_tsquery('simple', :query)
+                """);
+        return ((Number) withTimeout(query, timeout)
+                .setParameter("userId", userId)
+                .setParameter("query", tsQuery)
+                .getSingleResult()).longValue();
+    }
+
+    @Override
+    public long countRankedUpTo(Long userId, String tsQuery, int cap, Duration timeout) {
+        Query query = entityManager.createNativeQuery("""
+                select count(*)
+                from (select 1
+                      from contacts c
+                      where c.user_id = :userId and c.search_vector @@ to_tsquery('simple', :query)
+                      limit :limit) matches
+                """);
+        return ((Number) withTimeout(query, timeout)
+                .setParameter("userId", userId)
+                .setParameter("query", tsQuery)
+                .setParameter("limit", cap + 1)
+                .getSingleResult()).longValue();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ContactResponse> findSimilar(Long userId, List<String> words, long offset, int limit,
+                                             Duration timeout) {
+        Query query = entityManager.createNativeQuery(similar(words) + """
+                select id, first_name, last_name, email, phone
+                from matches
+                order by distance, id
+                """);
+        List<Object[]> rows = withSimilarParameters(withTimeout(query, timeout), userId, words)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> new ContactResponse(((Number) row[0]).longValue(), (String) row[1], (String) row[2],
+                        (String) row[3], (String) row[4]))
+                .toList();
+    }
+
+    @Override
+    public long countSimilar(Long userId, List<String> words, Duration timeout) {
+        Query query = entityManager.createNativeQuery(similar(words) + """
+                select count(*)
+                from matches
+                """);
+        return ((Number) withSimilarParameters(withTimeout(query, timeout), userId, words)
+                .getSingleResult()).longValue();
+    }
+
+    @Override
+    public long countSimilarUpTo(Long userId, List<String> words, int cap, Duration timeout) {
+        Query query = entityManager.createNativeQuery(similar(words) + """
+                select count(*)
+                from (select 1 from matches limit :limit) capped
+                """);
+        return ((Number) withSimilarParameters(withTimeout(query, timeout), userId, words)
+                .setParameter("limit", cap + 1)
+                .getSingleResult()).longValue();
+    }
+
+    /**
+     * {@code matches} holds the caller's contacts with the summed distance of every query word to the
+     * closest word of the first and last name, keeping only those where each of them is within
+     * {@code :maxN}. Names are split into words the way {@link ContactTextQuery#terms} splits them.
+     */
+    private static String similar(List<String> words) {
+        String distances = IntStream.range(0, words.size())
+                .mapToObj(i -> ", (select min(levenshtein_less_equal(w, :word" + i + ", :max" + i + "))"
+                        + " from unnest(n.words) w where w <> '') as distance" + i)
+                .collect(Collectors.joining());
+        String sum = IntStream.range(0, words.size())
+                .mapToObj(i -> "distance" + i)
+                .collect(Collectors.joining(" + "));
+        String filter = IntStream.range(0, words.size())
+                .mapToObj(i -> "distance%d <= :max%d".formatted(i, i))
+                .collect(Collectors.joining(" and "));
+
+        return """
+                with names as (select c.id, c.first_name, c.last_name, c.email, c.phone,
+                                      regexp_split_to_array(lower(concat_ws(' ', c.first_name, c.last_name)),
+                                                            '[^[:alnum:]]+') as words
+                               from contacts c
+                               where c.user_id = :userId),
+                     distances as (select n.id, n.first_name, n.last_name, n.email, n.phone%s
+                                   from names n),
+                     matches as (select id, first_name, last_name, email, phone, %s as distance
+                                 from distances
+                                 where %s)
+                """.formatted(distances, sum, filter);
+    }
+
+    private static Query withSimilarParameters(Query query, Long userId, List<String> words) {
+        query.setParameter("userId", userId);
+        for (int i = 0; i < words.size(); i++) {
+            query.setParameter("word" + i, words.get(i))
+                    .setParameter("max" + i, ContactTextQuery.fuzzyDistance(words.get(i)));
+        }
+        return query;
+    }
+
+    private static CompoundSelection<ContactResponse> response(CriteriaBuilder builder, Root<Contact> root) {
+        return builder.construct(ContactResponse.class, root.get("id"), root.get("firstName"),
+                root.get("lastName"), root.get("email"), root.get("phone"));
+    }
+
+    private static void where(CriteriaQuery<?> query, Predicate predicate) {
+        if (Objects.nonNull(predicate)) {
+            query.where(predicate);
+        }
+    }
+
+    private static <T> TypedQuery<T> withTimeout(TypedQuery<T> query, Duration timeout) {
+        return query.setHint(HibernateHints.HINT_TIMEOUT, timeoutSeconds(timeout));
+    }
+
+    private static Query withTimeout(Query query, Duration timeout) {
+        return query.setHint(HibernateHints.HINT_TIMEOUT, timeoutSeconds(timeout));
+    }
+
+    private static int timeoutSeconds(Duration timeout) {
+        return (int) Math.max(1L, (timeout.toMillis() + 999L) / 1000L);
+    }
+}
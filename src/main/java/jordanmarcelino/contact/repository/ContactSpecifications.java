@@ -0,0 +1,149 @@
+package jordanmarcelino.contact.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jordanmarcelino.contact.dto.SearchContactRequest;
+import jordanmarcelino.contact.entity.Contact;
+import jordanmarcelino.contact.search.ContactTextQuery;
+import jordanmarcelino.contact.search.SearchBackend;
+import jordanmarcelino.contact.util.NamePhonetics;
+import jordanmarcelino.contact.util.PhoneNumbers;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+public final class ContactSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    private ContactSpecifications() {
+    }
+
+    public static Specification<Contact> search(SearchContactRequest request, SearchBackend backend,
+                                                String defaultCountryCode) {
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(builder.equal(root.get("user").get("id"), request.getUser().id()));
+
+            if (Objects.nonNull(request.getName()) && Boolean.TRUE.equals(request.getPhonetic())) {
+                predicates.add(phonetic(builder, root, request.getName(), backend));
+            } else if (Objects.nonNull(request.getName())) {
+                predicates.add(name(builder, root, request.getName(), backend));
+            }
+
+            if (Objects.nonNull(request.getEmail())) {
+                predicates.add(contains(builder, root.get("email"), request.getEmail(), backend));
+            }
+
+            if (Objects.nonNull(request.getPhone())) {
+                predicates.add(phone(builder, root, request.getPhone(), backend, defaultCountryCode));
+            }
+
+            return query.where(predicates.toArray(new Predicate[]{})).getRestriction();
+        };
+    }
+
+    /**
+     * With {@link SearchBackend#TRIGRAM} the term is matched against the generated {@code full_name_lower}
+     * column, so a single trigram index serves it and a term spanning both names ("jordan mar") matches.
+     */
+    private static Predicate name(CriteriaBuilder builder, Root<Contact> root, String term, SearchBackend backend) {
+        if (backend == SearchBackend.LIKE) {
+            return builder.or(
+                    contains(builder, root.get("firstName"), term, backend),
+                    contains(builder, root.get("lastName"), term, backend)
+            );
+        }
+        return containsLower(builder, root.get("fullNameLower"), term);
+    }
+
+    private static Predicate contains(CriteriaBuilder builder, Expression<String> column, String term,
+                                      SearchBackend backend) {
+        if (backend == SearchBackend.LIKE) {
+            return builder.like(column, "%" + term + "%");
+        }
+        return containsLower(builder, builder.lower(column), term);
+    }
+
+    private static Predicate containsLower(CriteriaBuilder builder, Expression<String> lowerColumn, String term) {
+        return builder.like(lowerColumn, "%" + escape(term.toLowerCase(Locale.ROOT)) + "%", ESCAPE);
+    }
+
+    /**
+     * Every word of the name must sound like the first or last name: one of its Double Metaphone keys
+     * equals the stored key of either, which is an index lookup per key. Words with nothing to encode,
+     * such as digits, keep the substring match.
+     */
+    private static Predicate phonetic(CriteriaBuilder builder, Root<Contact> root, String name,
+                                      SearchBackend backend) {
+        List<String> words = ContactTextQuery.terms(name);
+        if (words.isEmpty()) {
+            return builder.disjunction();
+        }
+
+        List<Predicate> predicates = new ArrayList<>(words.size());
+        for (String word : words) {
+            List<String> keys = NamePhonetics.keys(word);
+            if (keys.isEmpty()) {
+                predicates.add(name(builder, root, word, backend));
+            } else {
+                predicates.add(builder.or(
+                        root.get("firstNamePhonetic").in(keys),
+                        root.get("lastNamePhonetic").in(keys)
+                ));
+            }
+        }
+        return builder.and(predicates.toArray(new Predicate[]{}));
+    }
+
+    /**
+     * With {@link SearchBackend#TRIGRAM} a phone term is matched on the normalized digits as index range
+     * scans: a number with its own prefix ({@code +62 812}, {@code 0812}) as a prefix of the stored
+     * number, and bare digits as a prefix with or without the country code or as the last digits, via
+     * the reversed column. Terms without digits still fall back to a substring match on the raw phone.
+     */
+    private static Predicate phone(CriteriaBuilder builder, Root<Contact> root, String term, SearchBackend backend,
+                                   String defaultCountryCode) {
+        String digits = PhoneNumbers.digits(term);
+        if (backend == SearchBackend.LIKE || digits.isEmpty()) {
+            return contains(builder, root.get("phone"), term, backend);
+        }
+
+        Expression<String> phoneDigits = root.get("phoneDigits");
+        if (PhoneNumbers.isQualified(term)) {
+            return startsWith(builder, phoneDigits, PhoneNumbers.normalize(term, defaultCountryCode));
+        }
+        return builder.or(
+                startsWith(builder, phoneDigits, defaultCountryCode + digits),
+                startsWith(builder, phoneDigits, digits),
+                startsWith(builder, root.get("phoneDigitsReversed"), PhoneNumbers.reverse(digits))
+        );
+    }
+
+    /**
+     * {@code column >= prefix and column < next(prefix)}, which stays a range scan under a generic plan
+     * where a bound {@code like 'prefix%'} would not. Relies on the "C" collation of the digit columns.
+     */
+    private static Predicate startsWith(CriteriaBuilder builder, Expression<String> column, String digits) {
+        char last = digits.charAt(digits.length() - 1);
+        String upper = digits.substring(0, digits.length() - 1) + (char) (last + 1);
+        return builder.and(builder.greaterThanOrEqualTo(column, digits), builder.lessThan(column, upper));
+    }
+
+    static String escape(String term) {
+        StringBuilder escaped = new StringBuilder(term.length() + 4);
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c == ESCAPE || c == '%' || c == '_') {
+                escaped.append(ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
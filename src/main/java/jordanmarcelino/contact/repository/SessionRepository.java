@@ -0,0 +1,47 @@
+package jordanmarcelino.contact.repository;
+
+import jordanmarcelino.contact.entity.Session;
+import jordanmarcelino.contact.security.SessionOwner;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface SessionRepository extends JpaRepository<Session, Long> {
+
+    @Query("""
+            select new jordanmarcelino.contact.security.SessionOwner(
+                s.id, s.tokenHash, s.expiredAt, s.refreshedAt, u.id, u.username, u.name
+            )
+            from Session s join s.user u
+            where s.tokenHash = :tokenHash
+            """)
+    Optional<SessionOwner> findOwnerByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Query("""
+            select new jordanmarcelino.contact.security.SessionOwner(
+                s.id, s.tokenHash, s.expiredAt, s.refreshedAt, u.id, u.username, u.name
+            )
+            from Session s join s.user u
+            where s.id = :id
+            """)
+    Optional<SessionOwner> findOwnerById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update Session s set s.expiredAt = :expiredAt, s.refreshedAt = :refreshedAt where s.id = :id")
+    int refresh(@Param("id") Long id, @Param("expiredAt") Long expiredAt, @Param("refreshedAt") Long refreshedAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Session s where s.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Session s where s.id = :id and s.tokenHash = :tokenHash")
+    int deleteByIdAndTokenHash(@Param("id") Long id, @Param("tokenHash") String tokenHash);
+}
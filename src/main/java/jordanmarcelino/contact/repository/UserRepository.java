@@ -1,13 +1,87 @@
 package jordanmarcelino.contact.repository;
 
 import jordanmarcelino.contact.entity.User;
+import jordanmarcelino.contact.security.AuthenticatedUser;
+import jordanmarcelino.contact.security.TokenOwner;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUsername(String username);
 
-    Optional<User> findByToken(String token);
+    boolean existsByUsername(String username);
+
+    @Query("""
+            select new jordanmarcelino.contact.security.AuthenticatedUser(u.id, u.username, u.name, u.tokenExpiredAt)
+            from User u
+            where u.token = :token
+            """)
+    Optional<AuthenticatedUser> findPrincipalByToken(@Param("token") String token);
+
+    @Query("""
+            select new jordanmarcelino.contact.security.TokenOwner(
+                u.id, u.username, u.name, u.token, u.tokenExpiredAt, u.tokenEpoch
+            )
+            from User u
+            where u.id = :id
+            """)
+    Optional<TokenOwner> findTokenOwnerById(@Param("id") Long id);
+
+    @Transactional
+    @Query(
+            value = """
+                    insert into users (username, name, hash_password, created_at, updated_at)
+                    values (:username, :name, :password, :now, :now)
+                    on conflict (username) do nothing
+                    returning id
+                    """,
+            nativeQuery = true
+    )
+    Optional<Long> insertIfAbsent(
+            @Param("username") String username,
+            @Param("name") String name,
+            @Param("password") String password,
+            @Param("now") Instant now
+    );
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update User u
+            set u.token = null, u.tokenExpiredAt = null, u.tokenEpoch = u.tokenEpoch + 1, u.updatedAt = :now
+            where u.id = :id
+            """)
+    int revokeTokens(@Param("id") Long id, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update User u
+            set u.token = :token, u.tokenExpiredAt = :expiredAt, u.updatedAt = :now
+            where u.id = :id
+            """)
+    int updateToken(@Param("id") Long id, @Param("token") String token, @Param("expiredAt") Long expiredAt,
+                    @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update User u
+            set u.name = coalesce(:name, u.name), u.password = coalesce(:password, u.password), u.updatedAt = :now
+            where u.id = :id
+            """)
+    int updateProfile(@Param("id") Long id, @Param("name") String name, @Param("password") String password,
+                      @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :newHash where u.id = :id and u.password = :oldHash")
+    int updatePassword(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
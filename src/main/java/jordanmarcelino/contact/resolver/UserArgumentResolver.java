@@ -2,9 +2,9 @@ package jordanmarcelino.contact.resolver;
 
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
-import jordanmarcelino.contact.entity.User;
 import jordanmarcelino.contact.exception.UnauthorizedException;
-import jordanmarcelino.contact.repository.UserRepository;
+import jordanmarcelino.contact.security.AuthenticatedUser;
+import jordanmarcelino.contact.security.TokenAuthenticator;
 import lombok.AllArgsConstructor;
 import org.springframework.core.MethodParameter;
 import org.springframework.stereotype.Component;
@@ -15,17 +15,16 @@ import org.springframework.web.method.support.ModelAndViewContainer;
 
 import java.util.Arrays;
 import java.util.Objects;
-import java.util.Optional;
 
 @Component
 @AllArgsConstructor
 public class UserArgumentResolver implements HandlerMethodArgumentResolver {
 
-    private UserRepository userRepository;
+    private TokenAuthenticator tokenAuthenticator;
 
     @Override
     public boolean supportsParameter(MethodParameter parameter) {
-        return User.class.equals(parameter.getParameterType());
+        return AuthenticatedUser.class.equals(parameter.getParameterType());
     }
 
     @Override
@@ -42,15 +41,6 @@ public class UserArgumentResolver implements HandlerMethodArgumentResolver {
             throw new UnauthorizedException();
         }
 
-        String token = apiKey.getValue();
-        User user = userRepository.findByToken(token).orElse(null);
-        if (Objects.isNull(user)) {
-            throw new UnauthorizedException();
-        }
-        if (user.getTokenExpiredAt() < System.currentTimeMillis()) {
-            throw new UnauthorizedException();
-        }
-
-        return user;
+        return tokenAuthenticator.authenticate(apiKey.getValue()).orElseThrow(UnauthorizedException::new);
     }
 }
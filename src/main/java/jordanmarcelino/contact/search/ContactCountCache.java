@@ -0,0 +1,95 @@
+package jordanmarcelino.contact.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jordanmarcelino.contact.config.ContactSearchProperties;
+import jordanmarcelino.contact.dto.SearchContactRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exact search totals per user and {@link ContactFilter}. An entry is served only while the user's
+ * {@link ContactVersions} version is unchanged and for at most {@code app.contact.search.count-cache-ttl},
+ * which bounds staleness from writes made on other instances.
+ */
+@Component
+public class ContactCountCache {
+
+    private final ContactSearchProperties properties;
+
+    private final ContactVersions versions;
+
+    private final Map<ContactFilter, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    public ContactCountCache(ContactSearchProperties properties, ContactVersions versions,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.versions = versions;
+        this.hits = meterRegistry.counter("contact.search.count.cache.hits");
+        this.misses = meterRegistry.counter("contact.search.count.cache.misses");
+        meterRegistry.gaugeMapSize("contact.search.count.cache.size", Tags.empty(), entries);
+    }
+
+    /**
+     * Returns the cached total, or computes it with {@code count} and caches it under the version
+     * current before the count started.
+     */
+    public long get(SearchContactRequest request, CountSupplier count) {
+        ContactFilter key = ContactFilter.of(request, properties.getBackend());
+        long version = versions.current(key.userId());
+        long now = System.currentTimeMillis();
+
+        Entry entry = entries.get(key);
+        if (Objects.nonNull(entry) && entry.version() == version && entry.expiresAt() > now) {
+            hits.increment();
+            return entry.count();
+        }
+
+        misses.increment();
+        long total = count.count();
+        entries.put(key, new Entry(version, total, now + properties.getCountCacheTtl().toMillis()));
+        if (entries.size() > properties.getCountCacheMaxSize()) {
+            shrink(now);
+        }
+        return total;
+    }
+
+    public Optional<Long> peek(SearchContactRequest request) {
+        ContactFilter key = ContactFilter.of(request, properties.getBackend());
+        Entry entry = entries.get(key);
+        if (Objects.isNull(entry) || entry.version() != versions.current(key.userId())
+                || entry.expiresAt() <= System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.count());
+    }
+
+    private void shrink(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+
+        Iterator<ContactFilter> iterator = entries.keySet().iterator();
+        while (entries.size() > properties.getCountCacheMaxSize() && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    @FunctionalInterface
+    public interface CountSupplier {
+
+        long count();
+    }
+
+    private record Entry(long version, long count, long expiresAt) {
+    }
+}
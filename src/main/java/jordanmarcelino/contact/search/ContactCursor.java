@@ -0,0 +1,52 @@
+package jordanmarcelino.contact.search;
+
+import jordanmarcelino.contact.exception.InvalidCursorException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Opaque {@code cursor} of keyset paging over contacts ordered by id. An empty cursor
+ * starts from the beginning.
+ */
+public final class ContactCursor {
+
+    private static final String KEY = "id";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private ContactCursor() {
+    }
+
+    public static KeysetScrollPosition decode(String cursor) {
+        if (Objects.isNull(cursor) || cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            return position(Long.parseLong(new String(DECODER.decode(cursor), StandardCharsets.US_ASCII)));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public static String encode(ScrollPosition position) {
+        Object id = ((KeysetScrollPosition) position).getKeys().get(KEY);
+        return ENCODER.encodeToString(String.valueOf(id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static KeysetScrollPosition position(long id) {
+        return ScrollPosition.forward(Map.of(KEY, id));
+    }
+
+    public static Optional<Long> lastId(KeysetScrollPosition position) {
+        return Optional.ofNullable((Number) position.getKeys().get(KEY)).map(Number::longValue);
+    }
+}
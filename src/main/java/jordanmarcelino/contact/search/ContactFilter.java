@@ -0,0 +1,41 @@
+package jordanmarcelino.contact.search;
+
+import jordanmarcelino.contact.dto.SearchContactRequest;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * The filters of a search reduced to what decides which contacts match, so that requests that differ only
+ * in ignored parameters, defaults or, where matching ignores it, case share a {@link ContactSearchCache} or
+ * {@link ContactCountCache} entry. The cursor is left out because keyset requests are scrolled, not searched,
+ * and {@code q} is rejected together with any other filter, so its filter holds only the words.
+ */
+record ContactFilter(Long userId, String name, String email, String phone, String q, boolean fuzzy,
+                     boolean phonetic) {
+
+    static ContactFilter of(SearchContactRequest request, SearchBackend backend) {
+        Long userId = request.getUser().id();
+
+        if (Objects.nonNull(request.getQ())) {
+            return new ContactFilter(userId, null, null, null, words(request.getQ()), false, false);
+        }
+        if (Boolean.TRUE.equals(request.getFuzzy()) && Objects.nonNull(request.getName())) {
+            return new ContactFilter(userId, words(request.getName()), null, null, null, true, false);
+        }
+
+        boolean phonetic = Boolean.TRUE.equals(request.getPhonetic()) && Objects.nonNull(request.getName());
+        boolean ignoreCase = backend != SearchBackend.LIKE;
+        String name = phonetic ? words(request.getName()) : lower(request.getName(), ignoreCase);
+        return new ContactFilter(userId, name, lower(request.getEmail(), ignoreCase), request.getPhone(), null,
+                false, phonetic);
+    }
+
+    private static String words(String text) {
+        return String.join(" ", ContactTextQuery.terms(text));
+    }
+
+    private static String lower(String value, boolean ignoreCase) {
+        return Objects.isNull(value) || !ignoreCase ? value : value.toLowerCase(Locale.ROOT);
+    }
+}
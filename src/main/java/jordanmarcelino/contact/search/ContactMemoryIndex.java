@@ -0,0 +1,340 @@
+package jordanmarcelino.contact.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jordanmarcelino.contact.config.ContactSearchProperties;
+import jordanmarcelino.contact.config.PhoneProperties;
+import jordanmarcelino.contact.dto.SearchContactRequest;
+import jordanmarcelino.contact.entity.Contact;
+import jordanmarcelino.contact.util.LongObjectHashMap;
+import jordanmarcelino.contact.util.LongPostingList;
+import jordanmarcelino.contact.util.PhoneNumbers;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Per-user trigram inverted index over contact name, email and normalized phone digits for
+ * {@link SearchBackend#MEMORY}. Phone filters follow the same prefix and suffix rules as the database.
+ * Indexes are loaded, kept current and evicted by a {@link PerUserCache} under
+ * {@code app.contact.search.memory-budget} and {@code app.contact.search.oversized-retry-interval}.
+ */
+@Component
+public class ContactMemoryIndex {
+
+    private static final int FETCH_SIZE = 1_000;
+
+    private static final long NAME = 1L;
+
+    private static final long EMAIL = 2L;
+
+    private static final long PHONE = 3L;
+
+    private final ContactSearchProperties properties;
+
+    private final PhoneProperties phoneProperties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final PerUserCache<UserIndex, Document> indexes;
+
+    public ContactMemoryIndex(ContactSearchProperties properties, PhoneProperties phoneProperties,
+                              JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.phoneProperties = phoneProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.indexes = new PerUserCache<>("contact.search.index", this::isEnabled, properties::getMemoryBudget,
+                properties::getOversizedRetryInterval, this::load, meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.getBackend() == SearchBackend.MEMORY;
+    }
+
+    /**
+     * Ids of the caller's contacts that match every filter of the request, in increasing order, or
+     * empty when the index can't serve this user right now and the database should be asked instead.
+     */
+    public Optional<long[]> search(SearchContactRequest request) {
+        String name = normalize(request.getName());
+        String email = normalize(request.getEmail());
+        PhoneTerm phone = PhoneTerm.of(request.getPhone(), phoneProperties.getDefaultCountryCode());
+        return indexes.read(request.getUser().id(), index -> search(index, name, email, phone));
+    }
+
+    public void indexAfterCommit(Long userId, Contact contact) {
+        if (isEnabled()) {
+            indexes.putAfterCommit(userId, contact.getId(), Document.of(contact.getFirstName(),
+                    contact.getLastName(), contact.getEmail(), contact.getPhone(), contact.getPhoneDigits(),
+                    contact.getUpdatedAt()));
+        }
+    }
+
+    public void removeAfterCommit(Long userId, Long contactId) {
+        if (isEnabled()) {
+            indexes.putAfterCommit(userId, contactId, null);
+        }
+    }
+
+    private UserIndex load(Long userId) {
+        LongObjectHashMap<LongPostingList> postings = new LongObjectHashMap<>();
+        LongObjectHashMap<Document> documents = new LongObjectHashMap<>();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement("""
+                            select id, first_name, last_name, email, phone, phone_digits, updated_at
+                            from contacts where user_id = ?
+                            """);
+                    statement.setLong(1, userId);
+                    statement.setFetchSize(FETCH_SIZE);
+                    return statement;
+                },
+                (RowCallbackHandler) resultSet -> {
+                    Timestamp updatedAt = resultSet.getTimestamp(7);
+                    Document document = Document.of(resultSet.getString(2), resultSet.getString(3),
+                            resultSet.getString(4), resultSet.getString(5), resultSet.getString(6),
+                            Objects.isNull(updatedAt) ? null : updatedAt.toInstant());
+                    UserIndex.add(postings, documents, resultSet.getLong(1), document);
+                }
+        ));
+        return new UserIndex(postings, documents);
+    }
+
+    private static long[] search(UserIndex index, String name, String email, PhoneTerm phone) {
+        List<LongPostingList> lists = new ArrayList<>();
+        if (!collect(index, NAME, name, lists) || !collect(index, EMAIL, email, lists)
+                || !collect(index, PHONE, Objects.isNull(phone) ? null : phone.digits(), lists)) {
+            return new long[0];
+        }
+
+        long[] candidates = lists.isEmpty()
+                ? allIds(index)
+                : LongPostingList.intersect(lists.toArray(new LongPostingList[0]));
+        int matched = 0;
+        for (long id : candidates) {
+            Document document = index.documents.get(id);
+            if (Objects.nonNull(document) && document.matches(name, email, phone)) {
+                candidates[matched++] = id;
+            }
+        }
+        return matched == candidates.length ? candidates : Arrays.copyOf(candidates, matched);
+    }
+
+    private static boolean collect(UserIndex index, long field, String term, List<LongPostingList> lists) {
+        if (Objects.isNull(term)) {
+            return true;
+        }
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            LongPostingList list = index.postings.get(trigram(field, term, i));
+            if (Objects.isNull(list)) {
+                return false;
+            }
+            lists.add(list);
+        }
+        return true;
+    }
+
+    private static long[] allIds(UserIndex index) {
+        long[] ids = new long[index.documents.size()];
+        int[] next = {0};
+        index.documents.forEach((id, document) -> ids[next[0]++] = id);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private static long trigram(long field, String value, int offset) {
+        return field << 48
+                | (long) value.charAt(offset) << 32
+                | (long) value.charAt(offset + 1) << 16
+                | value.charAt(offset + 2);
+    }
+
+    private static String normalize(String value) {
+        return Objects.isNull(value) ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class UserIndex implements PerUserCache.UserData<Document> {
+
+        private final LongObjectHashMap<LongPostingList> postings;
+
+        private final LongObjectHashMap<Document> documents;
+
+        private UserIndex(LongObjectHashMap<LongPostingList> postings, LongObjectHashMap<Document> documents) {
+            this.postings = postings;
+            this.documents = documents;
+        }
+
+        @Override
+        public long put(long contactId, Document document) {
+            Document previous = documents.get(contactId);
+            if (Objects.nonNull(previous) && Objects.nonNull(document) && document.isOlderThan(previous)) {
+                return 0L;
+            }
+
+            long delta = 0L;
+            if (Objects.nonNull(previous)) {
+                delta -= remove(postings, documents, contactId, previous);
+            }
+            if (Objects.nonNull(document)) {
+                delta += add(postings, documents, contactId, document);
+            }
+            return delta;
+        }
+
+        @Override
+        public int size() {
+            return documents.size();
+        }
+
+        @Override
+        public long sizeInBytes() {
+            long[] bytes = {postings.sizeInBytes() + documents.sizeInBytes()};
+            postings.forEach((key, list) -> bytes[0] += list.sizeInBytes());
+            documents.forEach((key, document) -> bytes[0] += document.sizeInBytes());
+            return bytes[0];
+        }
+
+        private static long add(LongObjectHashMap<LongPostingList> postings, LongObjectHashMap<Document> documents,
+                                long contactId, Document document) {
+            documents.put(contactId, document);
+            int trigrams = 0;
+            trigrams += addTrigrams(postings, NAME, document.fullName(), contactId);
+            trigrams += addTrigrams(postings, EMAIL, document.email(), contactId);
+            trigrams += addTrigrams(postings, PHONE, document.phoneDigits(), contactId);
+            return document.sizeInBytes() + 8L * trigrams;
+        }
+
+        private static long remove(LongObjectHashMap<LongPostingList> postings, LongObjectHashMap<Document> documents,
+                                   long contactId, Document document) {
+            documents.remove(contactId);
+            int trigrams = 0;
+            trigrams += removeTrigrams(postings, NAME, document.fullName(), contactId);
+            trigrams += removeTrigrams(postings, EMAIL, document.email(), contactId);
+            trigrams += removeTrigrams(postings, PHONE, document.phoneDigits(), contactId);
+            return document.sizeInBytes() + 8L * trigrams;
+        }
+
+        private static int addTrigrams(LongObjectHashMap<LongPostingList> postings, long field, String value,
+                                       long contactId) {
+            int added = 0;
+            for (int i = 0; Objects.nonNull(value) && i + 3 <= value.length(); i++) {
+                long key = trigram(field, value, i);
+                LongPostingList list = postings.get(key);
+                if (Objects.isNull(list)) {
+                    list = new LongPostingList();
+                    postings.put(key, list);
+                }
+                if (list.add(contactId)) {
+                    added++;
+                }
+            }
+            return added;
+        }
+
+        private static int removeTrigrams(LongObjectHashMap<LongPostingList> postings, long field, String value,
+                                          long contactId) {
+            int removed = 0;
+            for (int i = 0; Objects.nonNull(value) && i + 3 <= value.length(); i++) {
+                long key = trigram(field, value, i);
+                LongPostingList list = postings.get(key);
+                if (Objects.nonNull(list) && list.remove(contactId)) {
+                    removed++;
+                    if (list.isEmpty()) {
+                        postings.remove(key);
+                    }
+                }
+            }
+            return removed;
+        }
+    }
+
+    /**
+     * {@code fullName} is built the way the {@code full_name_lower} column is, so a term spanning first
+     * and last name matches here exactly when it matches in the database.
+     */
+    private record Document(String fullName, String email, String phone, String phoneDigits, long version) {
+
+        private static Document of(String firstName, String lastName, String email, String phone,
+                                   String phoneDigits, Instant updatedAt) {
+            String fullName = Objects.isNull(lastName) ? firstName : firstName + " " + lastName;
+            return new Document(normalize(fullName), normalize(email), normalize(phone), phoneDigits,
+                    Objects.isNull(updatedAt) ? Long.MIN_VALUE : updatedAt.toEpochMilli());
+        }
+
+        private boolean isOlderThan(Document other) {
+            return version < other.version;
+        }
+
+        private boolean matches(String name, String email, PhoneTerm phone) {
+            return (Objects.isNull(name) || contains(fullName, name))
+                    && (Objects.isNull(email) || contains(this.email, email))
+                    && (Objects.isNull(phone) || phone.matches(this.phone, phoneDigits));
+        }
+
+        private long sizeInBytes() {
+            return 48L + length(fullName) + length(email) + length(phone) + length(phoneDigits);
+        }
+
+        private static boolean contains(String value, String term) {
+            return Objects.nonNull(value) && value.contains(term);
+        }
+
+        private static long length(String value) {
+            return Objects.isNull(value) ? 0L : 40L + value.length();
+        }
+    }
+
+    /**
+     * A phone filter under the rules of {@code ContactSpecifications} for {@link SearchBackend#TRIGRAM}:
+     * a number with its own prefix must start the stored digits, bare digits must start them with or
+     * without the default country code or end them, and a term without digits is a substring of the
+     * raw phone. {@code digits} is contained in every match, so its trigrams narrow the candidates.
+     */
+    private record PhoneTerm(String raw, String digits, boolean qualified, String defaultCountryCode) {
+
+        private static PhoneTerm of(String phone, String defaultCountryCode) {
+            if (Objects.isNull(phone)) {
+                return null;
+            }
+
+            String digits = PhoneNumbers.digits(phone);
+            if (digits.isEmpty()) {
+                return new PhoneTerm(normalize(phone), null, false, defaultCountryCode);
+            }
+            if (PhoneNumbers.isQualified(phone)) {
+                return new PhoneTerm(null, PhoneNumbers.normalize(phone, defaultCountryCode), true,
+                        defaultCountryCode);
+            }
+            return new PhoneTerm(null, digits, false, defaultCountryCode);
+        }
+
+        private boolean matches(String phone, String phoneDigits) {
+            if (Objects.isNull(digits)) {
+                return Objects.nonNull(phone) && phone.contains(raw);
+            }
+            if (Objects.isNull(phoneDigits)) {
+                return false;
+            }
+            if (qualified) {
+                return phoneDigits.startsWith(digits);
+            }
+            return phoneDigits.startsWith(defaultCountryCode + digits)
+                    || phoneDigits.startsWith(digits)
+                    || phoneDigits.endsWith(digits);
+        }
+    }
+}
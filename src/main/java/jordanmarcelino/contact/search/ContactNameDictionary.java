@@ -0,0 +1,388 @@
+package jordanmarcelino.contact.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jordanmarcelino.contact.config.ContactAutocompleteProperties;
+import jordanmarcelino.contact.dto.ContactSuggestionResponse;
+import jordanmarcelino.contact.entity.Contact;
+import jordanmarcelino.contact.util.LevenshteinMatcher;
+import jordanmarcelino.contact.util.LongObjectHashMap;
+import jordanmarcelino.contact.util.LongPostingList;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Per-user dictionary of contact names for autocomplete. Every contact contributes its lower-cased
+ * first, last and full name as keys of one sorted array, so the completions of a prefix are a binary
+ * search followed by a scan of the neighbouring keys. Dictionaries are loaded, kept current and evicted by a
+ * {@link PerUserCache} under {@code app.contact.autocomplete.memory-budget} and
+ * {@code app.contact.autocomplete.oversized-retry-interval}.
+ * <p>
+ * The same dictionary answers fuzzy name searches from a second sorted array holding every distinct
+ * word of the names with the ids of the contacts using it, which {@link LevenshteinMatcher} searches
+ * for the words within a small edit distance of a misspelt one without comparing it against all of them.
+ */
+@Component
+public class ContactNameDictionary {
+
+    private static final int FETCH_SIZE = 1_000;
+
+    private final ContactAutocompleteProperties properties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final PerUserCache<UserDictionary, Names> dictionaries;
+
+    public ContactNameDictionary(ContactAutocompleteProperties properties, JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.dictionaries = new PerUserCache<>("contact.names.dictionary", this::isEnabled,
+                properties::getMemoryBudget, properties::getOversizedRetryInterval, this::load, meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Up to {@code limit} of the caller's contacts whose first, last or full name starts with
+     * {@code prefix}, in name order, or empty when the database should be asked instead.
+     */
+    public Optional<List<ContactSuggestionResponse>> complete(Long userId, String prefix, int limit) {
+        String normalized = normalize(prefix);
+        return dictionaries.read(userId, dictionary -> dictionary.complete(normalized, limit));
+    }
+
+    /**
+     * Ids of the caller's contacts whose names contain, for every word of {@code words}, a word within
+     * {@link ContactTextQuery#fuzzyDistance} of it. Closest first by the summed distance, then by id.
+     * Empty when the database should be asked instead.
+     */
+    public Optional<long[]> fuzzy(Long userId, List<String> words) {
+        return dictionaries.read(userId, dictionary -> dictionary.fuzzy(words));
+    }
+
+    public void indexAfterCommit(Long userId, Contact contact) {
+        if (isEnabled()) {
+            dictionaries.putAfterCommit(userId, contact.getId(), Names.of(contact.getFirstName(),
+                    contact.getLastName(), contact.getUpdatedAt()));
+        }
+    }
+
+    public void removeAfterCommit(Long userId, Long contactId) {
+        if (isEnabled()) {
+            dictionaries.putAfterCommit(userId, contactId, null);
+        }
+    }
+
+    private UserDictionary load(Long userId) {
+        LongObjectHashMap<Names> names = new LongObjectHashMap<>();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement("""
+                            select id, first_name, last_name, updated_at
+                            from contacts where user_id = ?
+                            """);
+                    statement.setLong(1, userId);
+                    statement.setFetchSize(FETCH_SIZE);
+                    return statement;
+                },
+                (RowCallbackHandler) resultSet -> {
+                    Timestamp updatedAt = resultSet.getTimestamp(4);
+                    names.put(resultSet.getLong(1), Names.of(resultSet.getString(2), resultSet.getString(3),
+                            Objects.isNull(updatedAt) ? null : updatedAt.toInstant()));
+                }
+        ));
+        return new UserDictionary(names);
+    }
+
+    private static String normalize(String value) {
+        return Objects.isNull(value) ? null : value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class UserDictionary implements PerUserCache.UserData<Names> {
+
+        private static final long SLOT_BYTES = 16L;
+
+        private static final long WORD_BYTES = 96L;
+
+        private final LongObjectHashMap<Names> names;
+
+        private String[] keys = new String[0];
+
+        private long[] ids = new long[0];
+
+        private int size;
+
+        private String[] words = new String[0];
+
+        private LongPostingList[] wordIds = new LongPostingList[0];
+
+        private int wordCount;
+
+        private UserDictionary(LongObjectHashMap<Names> names) {
+            this.names = names;
+            build();
+        }
+
+        private List<ContactSuggestionResponse> complete(String prefix, int limit) {
+            List<ContactSuggestionResponse> suggestions = new ArrayList<>(limit);
+            Set<Long> seen = new HashSet<>();
+            for (int i = lowerBound(prefix, Long.MIN_VALUE);
+                 i < size && suggestions.size() < limit && keys[i].startsWith(prefix); i++) {
+                long id = ids[i];
+                if (seen.add(id)) {
+                    Names contact = names.get(id);
+                    suggestions.add(new ContactSuggestionResponse(id, contact.firstName(), contact.lastName()));
+                }
+            }
+            return suggestions;
+        }
+
+        private long[] fuzzy(List<String> query) {
+            Map<Long, Integer> distances = null;
+            for (String word : query) {
+                Map<Long, Integer> matches = new HashMap<>();
+                LevenshteinMatcher.search(words, wordCount, word, ContactTextQuery.fuzzyDistance(word),
+                        (index, distance) -> wordIds[index].forEach(id -> matches.merge(id, distance, Math::min)));
+
+                if (Objects.isNull(distances)) {
+                    distances = matches;
+                } else {
+                    distances.keySet().retainAll(matches.keySet());
+                    distances.replaceAll((id, distance) -> distance + matches.get(id));
+                }
+                if (distances.isEmpty()) {
+                    break;
+                }
+            }
+            if (Objects.isNull(distances)) {
+                return new long[0];
+            }
+
+            return distances.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                    .mapToLong(Map.Entry::getKey)
+                    .toArray();
+        }
+
+        private void build() {
+            List<Key> entries = new ArrayList<>(names.size() * 3);
+            names.forEach((id, contact) -> {
+                for (String key : contact.keys()) {
+                    entries.add(new Key(key, id));
+                }
+            });
+            entries.sort(Comparator.comparing(Key::key).thenComparingLong(Key::id));
+
+            Map<String, LongPostingList> postings = new HashMap<>();
+            names.forEach((id, contact) -> {
+                for (String word : contact.words()) {
+                    postings.computeIfAbsent(word, w -> new LongPostingList()).add(id);
+                }
+            });
+            wordCount = postings.size();
+            words = postings.keySet().toArray(new String[Math.max(16, wordCount)]);
+            Arrays.sort(words, 0, wordCount);
+            wordIds = new LongPostingList[words.length];
+            for (int i = 0; i < wordCount; i++) {
+                wordIds[i] = postings.get(words[i]);
+            }
+
+            size = entries.size();
+            keys = new String[Math.max(16, size)];
+            ids = new long[keys.length];
+            for (int i = 0; i < size; i++) {
+                keys[i] = entries.get(i).key();
+                ids[i] = entries.get(i).id();
+            }
+        }
+
+        @Override
+        public long put(long contactId, Names contact) {
+            Names previous = names.get(contactId);
+            if (Objects.nonNull(previous) && Objects.nonNull(contact) && contact.isOlderThan(previous)) {
+                return 0L;
+            }
+
+            long delta = 0L;
+            if (Objects.nonNull(previous)) {
+                names.remove(contactId);
+                for (String key : previous.keys()) {
+                    remove(key, contactId);
+                }
+                for (String word : previous.words()) {
+                    delta -= removeWord(word, contactId);
+                }
+                delta -= previous.sizeInBytes() + SLOT_BYTES * previous.keys().size();
+            }
+            if (Objects.nonNull(contact)) {
+                names.put(contactId, contact);
+                for (String key : contact.keys()) {
+                    insert(key, contactId);
+                }
+                for (String word : contact.words()) {
+                    delta += addWord(word, contactId);
+                }
+                delta += contact.sizeInBytes() + SLOT_BYTES * contact.keys().size();
+            }
+            return delta;
+        }
+
+        private long addWord(String word, long id) {
+            int index = Arrays.binarySearch(words, 0, wordCount, word);
+            long delta = 0L;
+            if (index < 0) {
+                index = -index - 1;
+                if (wordCount == words.length) {
+                    words = Arrays.copyOf(words, Math.max(16, wordCount * 2));
+                    wordIds = Arrays.copyOf(wordIds, words.length);
+                }
+                System.arraycopy(words, index, words, index + 1, wordCount - index);
+                System.arraycopy(wordIds, index, wordIds, index + 1, wordCount - index);
+                words[index] = word;
+                wordIds[index] = new LongPostingList();
+                wordCount++;
+                delta += WORD_BYTES + word.length();
+            }
+            return wordIds[index].add(id) ? delta + 8L : delta;
+        }
+
+        private long removeWord(String word, long id) {
+            int index = Arrays.binarySearch(words, 0, wordCount, word);
+            if (index < 0 || !wordIds[index].remove(id)) {
+                return 0L;
+            }
+            if (!wordIds[index].isEmpty()) {
+                return 8L;
+            }
+
+            System.arraycopy(words, index + 1, words, index, wordCount - index - 1);
+            System.arraycopy(wordIds, index + 1, wordIds, index, wordCount - index - 1);
+            wordCount--;
+            words[wordCount] = null;
+            wordIds[wordCount] = null;
+            return 8L + WORD_BYTES + word.length();
+        }
+
+        private void insert(String key, long id) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(16, size * 2));
+                ids = Arrays.copyOf(ids, keys.length);
+            }
+            int index = lowerBound(key, id);
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            keys[index] = key;
+            ids[index] = id;
+            size++;
+        }
+
+        private void remove(String key, long id) {
+            int index = lowerBound(key, id);
+            if (index == size || ids[index] != id || !keys[index].equals(key)) {
+                return;
+            }
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            keys[--size] = null;
+        }
+
+        /**
+         * First position whose (key, id) is not less than the given pair.
+         */
+        private int lowerBound(String key, long id) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int compared = keys[mid].compareTo(key);
+                if (compared < 0 || (compared == 0 && ids[mid] < id)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        @Override
+        public int size() {
+            return names.size();
+        }
+
+        @Override
+        public long sizeInBytes() {
+            long[] total = {names.sizeInBytes() + SLOT_BYTES * keys.length};
+            names.forEach((id, contact) -> total[0] += contact.sizeInBytes());
+            for (int i = 0; i < wordCount; i++) {
+                total[0] += WORD_BYTES + words[i].length() + wordIds[i].sizeInBytes();
+            }
+            return total[0];
+        }
+    }
+
+    private record Key(String key, long id) {
+    }
+
+    private record Names(String firstName, String lastName, List<String> keys, List<String> words, long version) {
+
+        private static Names of(String firstName, String lastName, Instant updatedAt) {
+            List<String> keys = new ArrayList<>(3);
+            String first = normalize(firstName);
+            String last = normalize(lastName);
+            if (Objects.nonNull(first) && !first.isEmpty()) {
+                keys.add(first);
+            }
+            if (Objects.nonNull(last) && !last.isEmpty()) {
+                keys.add(last);
+                if (Objects.nonNull(first) && !first.isEmpty()) {
+                    keys.add(first + " " + last);
+                }
+            }
+            List<String> words = ContactTextQuery.terms(Stream.of(firstName, lastName)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.joining(" ")));
+            return new Names(firstName, lastName, List.copyOf(keys), words,
+                    Objects.isNull(updatedAt) ? Long.MIN_VALUE : updatedAt.toEpochMilli());
+        }
+
+        private boolean isOlderThan(Names other) {
+            return version < other.version;
+        }
+
+        private long sizeInBytes() {
+            long bytes = 64L + length(firstName) + length(lastName);
+            for (String key : keys) {
+                bytes += length(key);
+            }
+            return bytes;
+        }
+
+        private static long length(String value) {
+            return Objects.isNull(value) ? 0L : 40L + value.length();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package jordanmarcelino.contact.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jordanmarcelino.contact.config.ContactPhoneticProperties;
+import jordanmarcelino.contact.util.NamePhonetics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes the phonetic name keys of contacts written before the keys existed. Pending rows are read
+ * in id order through a partial index, at most {@code batch-size} at a time, and each batch is written
+ * back by one auto-committed {@code update ... from unnest(...)}. The update skips rows that got their
+ * keys from a concurrent write in the meantime. Like {@code TokenSweeper}, a pass runs on one pooled
+ * connection holding a session-level advisory lock so other instances skip it; once every row has
+ * keys a pass is a single empty index scan.
+ */
+@Slf4j
+@Component
+public class ContactPhoneticBackfill {
+
+    private static final String SELECT_PENDING = """
+            select id, first_name, last_name from contacts
+            where first_name_phonetic is null and id > ?
+            order by id
+            limit ?
+            """;
+
+    private static final String UPDATE_KEYS = """
+            update contacts c
+            set first_name_phonetic = keys.first_name_phonetic,
+                last_name_phonetic  = keys.last_name_phonetic
+            from unnest(?::bigint[], ?::varchar[], ?::varchar[]) as keys (id, first_name_phonetic, last_name_phonetic)
+            where c.id = keys.id and c.first_name_phonetic is null
+            """;
+
+    private final ContactPhoneticProperties properties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Counter backfilledRows;
+
+    private final Counter skippedPasses;
+
+    private final Timer passDuration;
+
+    public ContactPhoneticBackfill(ContactPhoneticProperties properties, JdbcTemplate jdbcTemplate,
+                                   MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.backfilledRows = meterRegistry.counter("contact.phonetic.backfill.rows");
+        this.skippedPasses = meterRegistry.counter("contact.phonetic.backfill.skipped");
+        this.passDuration = meterRegistry.timer("contact.phonetic.backfill.duration");
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.contact.phonetic.backfill-initial-delay:30s}",
+            fixedDelayString = "${app.contact.phonetic.backfill-interval:10m}"
+    )
+    public void backfill() {
+        if (!properties.isBackfillEnabled()) {
+            return;
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (properties.isSingleNode() && !tryLock(connection, "select pg_try_advisory_lock(?)")) {
+                skippedPasses.increment();
+                return null;
+            }
+
+            try {
+                long started = System.nanoTime();
+                long rows = backfill(connection);
+                long elapsed = System.nanoTime() - started;
+
+                backfilledRows.increment(rows);
+                passDuration.record(elapsed, TimeUnit.NANOSECONDS);
+                if (rows > 0) {
+                    log.info("Backfilled contact phonetic keys Rows={} Latency={}ms", rows, elapsed / 1_000_000);
+                }
+            } finally {
+                if (properties.isSingleNode()) {
+                    tryLock(connection, "select pg_advisory_unlock(?)");
+                }
+            }
+            return null;
+        });
+    }
+
+    private long backfill(Connection connection) throws SQLException {
+        long backfilled = 0;
+        long lastId = 0;
+        try (PreparedStatement select = connection.prepareStatement(SELECT_PENDING);
+             PreparedStatement update = connection.prepareStatement(UPDATE_KEYS)) {
+            while (true) {
+                List<Long> ids = new ArrayList<>(properties.getBatchSize());
+                List<String> firstNameKeys = new ArrayList<>(properties.getBatchSize());
+                List<String> lastNameKeys = new ArrayList<>(properties.getBatchSize());
+
+                select.setLong(1, lastId);
+                select.setInt(2, properties.getBatchSize());
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        ids.add(resultSet.getLong(1));
+                        firstNameKeys.add(NamePhonetics.key(resultSet.getString(2)));
+                        lastNameKeys.add(NamePhonetics.key(resultSet.getString(3)));
+                    }
+                }
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                update.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+                update.setArray(2, connection.createArrayOf("varchar", firstNameKeys.toArray()));
+                update.setArray(3, connection.createArrayOf("varchar", lastNameKeys.toArray()));
+                backfilled += update.executeUpdate();
+
+                lastId = ids.get(ids.size() - 1);
+                if (ids.size() < properties.getBatchSize()) {
+                    break;
+                }
+                pause();
+            }
+        }
+        return backfilled;
+    }
+
+    private boolean tryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, properties.getAdvisoryLockKey());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(properties.getPauseBetweenBatches());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package jordanmarcelino.contact.search;
+
+import jordanmarcelino.contact.dto.ContactResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * One way of matching a user's contacts, paged by offset. Each call is a single query bounded by
+ * {@code timeout}.
+ */
+public interface ContactQuery {
+
+    List<ContactResponse> content(long offset, int limit, Duration timeout);
+
+    long count(Duration timeout);
+
+    /**
+     * Exact only when the result is at most {@code cap}.
+     */
+    long countUpTo(int cap, Duration timeout);
+}
@@ -0,0 +1,178 @@
+package jordanmarcelino.contact.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jordanmarcelino.contact.config.ContactSearchProperties;
+import jordanmarcelino.contact.dto.ContactResponse;
+import jordanmarcelino.contact.dto.SearchContactRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Whole search results per user, normalized request and {@link ContactVersions} version. A contact or
+ * address write bumps the user's version, which invalidates all of their entries at once: they are
+ * never looked up again and age out of the least-recently-used order. Entries are also dropped after
+ * {@code app.contact.search.result-cache-ttl}, which bounds staleness from writes made on other
+ * instances, and the estimated size of all entries is kept under {@code result-cache-max-size}.
+ * <p>
+ * Concurrent misses on the same key run the search once: the first caller computes it and the others
+ * wait for its result, or its exception, under a {@link ContactSearchExecutor} deadline of their own.
+ */
+@Component
+public class ContactSearchCache {
+
+    private static final long ENTRY_BYTES = 256L;
+
+    private static final long CONTACT_BYTES = 48L;
+
+    private final ContactSearchProperties properties;
+
+    private final ContactVersions versions;
+
+    private final ContactSearchExecutor executor;
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<Key, CompletableFuture<Slice<ContactResponse>>> loading = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter coalesced;
+
+    private long totalBytes;
+
+    public ContactSearchCache(ContactSearchProperties properties, ContactVersions versions,
+                              ContactSearchExecutor executor, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.versions = versions;
+        this.executor = executor;
+        this.hits = meterRegistry.counter("contact.search.result.cache.hits");
+        this.misses = meterRegistry.counter("contact.search.result.cache.misses");
+        this.coalesced = meterRegistry.counter("contact.search.result.cache.coalesced");
+        Gauge.builder("contact.search.result.cache.bytes", this, ContactSearchCache::totalBytes)
+                .register(meterRegistry);
+        Gauge.builder("contact.search.result.cache.size", this, ContactSearchCache::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached result, or runs {@code search} and caches its result under the version current
+     * before it started.
+     */
+    public Slice<ContactResponse> get(SearchContactRequest request, Supplier<Slice<ContactResponse>> search) {
+        if (!properties.isResultCacheEnabled()) {
+            return search.get();
+        }
+
+        Key key = Key.of(request, properties.getBackend(), versions.current(request.getUser().id()));
+        Slice<ContactResponse> cached = lookup(key);
+        if (Objects.nonNull(cached)) {
+            hits.increment();
+            return cached;
+        }
+
+        CompletableFuture<Slice<ContactResponse>> mine = new CompletableFuture<>();
+        CompletableFuture<Slice<ContactResponse>> running = loading.putIfAbsent(key, mine);
+        if (Objects.nonNull(running)) {
+            coalesced.increment();
+            return executor.await(running);
+        }
+
+        misses.increment();
+        try {
+            Slice<ContactResponse> result = search.get();
+            store(key, result);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException exception) {
+            mine.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    private synchronized Slice<ContactResponse> lookup(Key key) {
+        Entry entry = entries.get(key);
+        if (Objects.isNull(entry)) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key);
+            totalBytes -= entry.bytes();
+            return null;
+        }
+        return entry.result();
+    }
+
+    private synchronized void store(Key key, Slice<ContactResponse> result) {
+        long bytes = sizeInBytes(key, result.getContent());
+        long maxBytes = properties.getResultCacheMaxSize().toBytes();
+        if (bytes > maxBytes) {
+            return;
+        }
+
+        Entry previous = entries.put(key, new Entry(result, bytes,
+                System.currentTimeMillis() + properties.getResultCacheTtl().toMillis()));
+        if (Objects.nonNull(previous)) {
+            totalBytes -= previous.bytes();
+        }
+        totalBytes += bytes;
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            totalBytes -= iterator.next().bytes();
+            iterator.remove();
+        }
+    }
+
+    private static long sizeInBytes(Key key, List<ContactResponse> contacts) {
+        ContactFilter filter = key.filter();
+        long bytes = ENTRY_BYTES + length(filter.name()) + length(filter.email()) + length(filter.phone())
+                + length(filter.q());
+        for (ContactResponse contact : contacts) {
+            bytes += CONTACT_BYTES + length(contact.getFirstName()) + length(contact.getLastName())
+                    + length(contact.getEmail()) + length(contact.getPhone());
+        }
+        return bytes;
+    }
+
+    private static long length(String value) {
+        return Objects.isNull(value) ? 0L : 40L + value.length();
+    }
+
+    private synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * The {@link ContactFilter} of a request together with the page it asked for.
+     */
+    private record Key(ContactFilter filter, long version, int page, int size, String total) {
+
+        private static Key of(SearchContactRequest request, SearchBackend backend, long version) {
+            return new Key(ContactFilter.of(request, backend), version,
+                    Objects.requireNonNullElse(request.getPage(), 0),
+                    Objects.requireNonNullElse(request.getSize(), 10), TotalMode.of(request.getTotal()).name());
+        }
+    }
+
+    private record Entry(Slice<ContactResponse> result, long bytes, long expiresAt) {
+    }
+}
@@ -0,0 +1,148 @@
+package jordanmarcelino.contact.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jordanmarcelino.contact.config.ContactSearchProperties;
+import jordanmarcelino.contact.exception.ServiceUnavailableException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Runs the queries of a search under one deadline per request, mapping a statement timeout or a missed
+ * deadline to {@link ServiceUnavailableException}.
+ * <p>
+ * With {@code app.contact.search.parallel-count} the count runs on a virtual thread, which gets its
+ * own {@code EntityManager} and therefore its own pooled connection, while the content query runs on
+ * the request thread. Latency becomes the slower of the two queries instead of their sum, at the cost
+ * of a second connection per request. {@code parallel-count-max-concurrency} caps how many requests
+ * may hold that second connection; the rest fall back to running the queries one after the other.
+ */
+@Component
+public class ContactSearchExecutor {
+
+    private final ContactSearchProperties properties;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Semaphore permits;
+
+    private final Timer sequentialTimer;
+
+    private final Timer parallelTimer;
+
+    private final Counter deadlineExceeded;
+
+    public ContactSearchExecutor(ContactSearchProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.permits = new Semaphore(properties.getParallelCountMaxConcurrency());
+        this.sequentialTimer = meterRegistry.timer("contact.search.exact.duration", "execution", "sequential");
+        this.parallelTimer = meterRegistry.timer("contact.search.exact.duration", "execution", "parallel");
+        this.deadlineExceeded = meterRegistry.counter("contact.search.deadline.exceeded");
+        meterRegistry.gauge("contact.search.parallel.active", permits,
+                semaphore -> properties.getParallelCountMaxConcurrency() - semaphore.availablePermits());
+    }
+
+    /**
+     * Starts the deadline for one request. Both functions receive the time left until it, to be used as the
+     * statement timeout.
+     */
+    public <T> Page<T> page(Pageable pageable, Function<Duration, List<T>> content, ToLongFunction<Duration> count) {
+        long deadline = System.nanoTime() + properties.getDeadline().toNanos();
+        if (!properties.isParallelCount() || !permits.tryAcquire()) {
+            return sequentialTimer.record(() -> {
+                List<T> page = guard(() -> content.apply(remaining(deadline)));
+                return PageableExecutionUtils.getPage(page, pageable,
+                        () -> guard(() -> count.applyAsLong(remaining(deadline))));
+            });
+        }
+
+        try {
+            return parallelTimer.record(() -> {
+                Future<Long> total = executor.submit(() -> count.applyAsLong(remaining(deadline)));
+                try {
+                    List<T> page = guard(() -> content.apply(remaining(deadline)));
+                    return new PageImpl<>(page, pageable, await(total, deadline));
+                } finally {
+                    total.cancel(true);
+                }
+            });
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Starts the deadline for one request whose queries run one after the other on the request thread. Each call
+     * of the supplier returns the time left until the deadline, to be used as the next statement timeout.
+     */
+    public <R> R run(Function<Supplier<Duration>, R> queries) {
+        long deadline = System.nanoTime() + properties.getDeadline().toNanos();
+        return guard(() -> queries.apply(() -> remaining(deadline)));
+    }
+
+    /**
+     * Starts the deadline for one request that waits for work another request started, such as the same
+     * search already running, and returns its result.
+     */
+    public <V> V await(Future<V> future) {
+        return await(future, System.nanoTime() + properties.getDeadline().toNanos());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Duration remaining(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0L) {
+            throw timeout();
+        }
+        return Duration.ofNanos(remaining);
+    }
+
+    private <V> V await(Future<V> future, long deadline) {
+        try {
+            return future.get(remaining(deadline).toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException exception) {
+            throw timeout();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof QueryTimeoutException) {
+                throw timeout();
+            }
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+    private <R> R guard(Supplier<R> query) {
+        try {
+            return query.get();
+        } catch (QueryTimeoutException exception) {
+            throw timeout();
+        }
+    }
+
+    private ServiceUnavailableException timeout() {
+        deadlineExceeded.increment();
+        return new ServiceUnavailableException(properties.getDeadline());
+    }
+}
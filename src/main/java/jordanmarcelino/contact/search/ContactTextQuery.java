@@ -0,0 +1,63 @@
+package jordanmarcelino.contact.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Turns the free text of {@code q} into a {@code to_tsquery('simple', ...)} argument that matches
+ * every word as a prefix, so that "jo sm" finds "John Smith" while it is being typed. Only letters and
+ * digits survive, which keeps the tsquery operators out of user input.
+ */
+public final class ContactTextQuery {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int MAX_TERMS = 8;
+
+    private static final int SHORT_WORD_LENGTH = 4;
+
+    private ContactTextQuery() {
+    }
+
+    /**
+     * Returns empty when {@code q} has no letters or digits.
+     */
+    public static Optional<String> prefixQuery(String q) {
+        if (Objects.isNull(q)) {
+            return Optional.empty();
+        }
+
+        String query = terms(q).stream()
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? Optional.empty() : Optional.of(query);
+    }
+
+    /**
+     * The distinct lower-cased words of {@code text}, at most eight of them.
+     */
+    public static List<String> terms(String text) {
+        if (Objects.isNull(text)) {
+            return List.of();
+        }
+
+        return Arrays.stream(SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .limit(MAX_TERMS)
+                .toList();
+    }
+
+    /**
+     * Edit distance within which a fuzzy name search accepts a word of the name for {@code word}: 1 for
+     * words of up to four characters, 2 for longer ones.
+     */
+    public static int fuzzyDistance(String word) {
+        return word.length() <= SHORT_WORD_LENGTH ? 1 : 2;
+    }
+}
@@ -0,0 +1,40 @@
+package jordanmarcelino.contact.search;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user version of the contact data, bumped after every committed contact or address write. Readers take the
+ * version before they query and tag what they cache with it, so a result computed from data that
+ * changed meanwhile is never served under the newer version.
+ */
+@Component
+public class ContactVersions {
+
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    public long current(Long userId) {
+        return versions.getOrDefault(userId, 0L);
+    }
+
+    public void bumpAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(userId);
+                }
+            });
+        } else {
+            bump(userId);
+        }
+    }
+
+    private void bump(Long userId) {
+        versions.merge(userId, 1L, Long::sum);
+    }
+}
@@ -0,0 +1,16 @@
+package jordanmarcelino.contact.search;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Page whose total is only known to be at least {@link #getTotalElements()}.
+ */
+public class EstimatedPage<T> extends PageImpl<T> {
+
+    public EstimatedPage(List<T> content, Pageable pageable, long lowerBound) {
+        super(content, pageable, lowerBound);
+    }
+}
@@ -0,0 +1,289 @@
+package jordanmarcelino.contact.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory copies of one structure per user over their contacts, as kept by {@link ContactMemoryIndex} and
+ * {@link ContactNameDictionary}. A user's structure is loaded on their first read and kept current by contact
+ * writes after they commit; writes that commit while the load is running are queued and replayed on top of
+ * it. All loaded users share one memory budget and the least recently read ones are dropped whole when it is
+ * exceeded. A user whose structure alone exceeds the budget is served by the database instead until the
+ * oversized retry interval has passed. {@code loader} reads one user's contacts from the database into a new
+ * structure.
+ * <p>
+ * Publishes {@code <name>.loads}, {@code .evictions} and {@code .fallbacks} counters and {@code .bytes} and
+ * {@code .users} gauges.
+ */
+@Slf4j
+final class PerUserCache<S extends PerUserCache.UserData<V>, V> {
+
+    private final String name;
+
+    private final BooleanSupplier enabled;
+
+    private final Supplier<DataSize> memoryBudget;
+
+    private final Supplier<Duration> oversizedRetryInterval;
+
+    private final Function<Long, S> loader;
+
+    private final Map<Long, Slot<S, V>> users = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<Long, Long> oversized = new ConcurrentHashMap<>();
+
+    private final Counter loads;
+
+    private final Counter evictions;
+
+    private final Counter fallbacks;
+
+    private long totalBytes;
+
+    PerUserCache(String name, BooleanSupplier enabled, Supplier<DataSize> memoryBudget,
+                 Supplier<Duration> oversizedRetryInterval, Function<Long, S> loader, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.enabled = enabled;
+        this.memoryBudget = memoryBudget;
+        this.oversizedRetryInterval = oversizedRetryInterval;
+        this.loader = loader;
+        this.loads = meterRegistry.counter(name + ".loads");
+        this.evictions = meterRegistry.counter(name + ".evictions");
+        this.fallbacks = meterRegistry.counter(name + ".fallbacks");
+        Gauge.builder(name + ".bytes", this, PerUserCache::totalBytes).register(meterRegistry);
+        Gauge.builder(name + ".users", this, PerUserCache::userCount).register(meterRegistry);
+    }
+
+    /**
+     * Applies {@code reader} to the user's structure under its read lock, loading it first if needed, or
+     * returns empty when the database should be asked instead.
+     */
+    <R> Optional<R> read(Long userId, Function<S, R> reader) {
+        if (!enabled.getAsBoolean() || isOversized(userId)) {
+            fallbacks.increment();
+            return Optional.empty();
+        }
+
+        Slot<S, V> slot;
+        synchronized (this) {
+            slot = users.computeIfAbsent(userId, id -> new Slot<>());
+        }
+        if (!slot.loaded && !load(userId, slot)) {
+            fallbacks.increment();
+            return Optional.empty();
+        }
+
+        slot.lock.readLock().lock();
+        try {
+            return Optional.of(reader.apply(slot.data));
+        } finally {
+            slot.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Puts {@code value} for the contact, or removes it when {@code value} is null, once the current
+     * transaction commits.
+     */
+    void putAfterCommit(Long userId, long contactId, V value) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(userId, contactId, value);
+                }
+            });
+        } else {
+            apply(userId, contactId, value);
+        }
+    }
+
+    private void apply(Long userId, long contactId, V value) {
+        Slot<S, V> slot;
+        synchronized (this) {
+            slot = users.get(userId);
+        }
+        if (Objects.isNull(slot)) {
+            return;
+        }
+
+        long delta;
+        slot.lock.writeLock().lock();
+        try {
+            if (Objects.nonNull(slot.pending)) {
+                slot.pending.add(new PendingWrite<>(contactId, value));
+                return;
+            }
+            if (!slot.loaded) {
+                return;
+            }
+            delta = slot.data.put(contactId, value);
+        } finally {
+            slot.lock.writeLock().unlock();
+        }
+        account(userId, slot, delta);
+    }
+
+    private boolean load(Long userId, Slot<S, V> slot) {
+        slot.lock.writeLock().lock();
+        try {
+            if (slot.loaded) {
+                return true;
+            }
+            if (Objects.nonNull(slot.pending)) {
+                return false;
+            }
+            slot.pending = new ArrayList<>();
+        } finally {
+            slot.lock.writeLock().unlock();
+        }
+
+        long started = System.nanoTime();
+        S data;
+        try {
+            data = loader.apply(userId);
+        } catch (RuntimeException exception) {
+            synchronized (this) {
+                users.remove(userId, slot);
+            }
+            slot.lock.writeLock().lock();
+            try {
+                slot.pending = null;
+            } finally {
+                slot.lock.writeLock().unlock();
+            }
+            throw exception;
+        }
+
+        long bytes;
+        int contacts;
+        slot.lock.writeLock().lock();
+        try {
+            for (PendingWrite<V> write : slot.pending) {
+                data.put(write.contactId(), write.value());
+            }
+            slot.data = data;
+            slot.pending = null;
+            slot.loaded = true;
+            bytes = data.sizeInBytes();
+            contacts = data.size();
+        } finally {
+            slot.lock.writeLock().unlock();
+        }
+
+        loads.increment();
+        log.info("Loaded {} UserId={} Contacts={} Bytes={} Latency={}ms", name, userId, contacts, bytes,
+                (System.nanoTime() - started) / 1_000_000);
+
+        synchronized (this) {
+            if (bytes > memoryBudget.get().toBytes()) {
+                users.remove(userId, slot);
+                oversized.put(userId, System.currentTimeMillis() + oversizedRetryInterval.get().toMillis());
+                return false;
+            }
+            if (users.get(userId) != slot) {
+                return true;
+            }
+            slot.bytes = bytes;
+            slot.installed = true;
+            totalBytes += bytes;
+            evictOverBudget(slot);
+        }
+        return true;
+    }
+
+    private boolean isOversized(Long userId) {
+        Long retryAt = oversized.get(userId);
+        if (Objects.isNull(retryAt)) {
+            return false;
+        }
+        if (retryAt > System.currentTimeMillis()) {
+            return true;
+        }
+        oversized.remove(userId, retryAt);
+        return false;
+    }
+
+    private synchronized void account(Long userId, Slot<S, V> slot, long delta) {
+        slot.bytes += delta;
+        if (slot.installed && users.get(userId) == slot) {
+            totalBytes += delta;
+            evictOverBudget(slot);
+        }
+    }
+
+    private void evictOverBudget(Slot<S, V> keep) {
+        Iterator<Slot<S, V>> iterator = users.values().iterator();
+        while (totalBytes > memoryBudget.get().toBytes() && iterator.hasNext()) {
+            Slot<S, V> slot = iterator.next();
+            if (slot == keep || !slot.installed) {
+                continue;
+            }
+            iterator.remove();
+            slot.installed = false;
+            totalBytes -= slot.bytes;
+            evictions.increment();
+        }
+    }
+
+    private synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private synchronized int userCount() {
+        return users.size();
+    }
+
+    /**
+     * One user's structure. Only called under the lock of its {@link PerUserCache}.
+     */
+    interface UserData<V> {
+
+        /**
+         * Puts {@code value} for the contact, or removes it when {@code value} is null, and returns the change
+         * in estimated size. A value older than the one held is ignored.
+         */
+        long put(long contactId, V value);
+
+        int size();
+
+        long sizeInBytes();
+    }
+
+    private static final class Slot<S, V> {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private S data;
+
+        private List<PendingWrite<V>> pending;
+
+        private volatile boolean loaded;
+
+        private long bytes;
+
+        private boolean installed;
+    }
+
+    private record PendingWrite<V>(long contactId, V value) {
+    }
+}
@@ -0,0 +1,22 @@
+package jordanmarcelino.contact.search;
+
+public enum SearchBackend {
+
+    /**
+     * Case-sensitive {@code like '%term%'} on the raw columns.
+     */
+    LIKE,
+
+    /**
+     * Case-insensitive {@code lower(column) like '%term%'}, served by the {@code gin_trgm_ops} indexes
+     * from {@code migrations/schema_001_contact_trigram_indexes.sql}. Names are matched on the generated
+     * {@code full_name_lower} column from {@code migrations/schema_006_contact_full_name_lower.sql}.
+     */
+    TRIGRAM,
+
+    /**
+     * Per-user trigram inverted index held in memory by {@link ContactMemoryIndex}; falls back to
+     * {@link #TRIGRAM} while a user's index is loading or when it would not fit the memory budget.
+     */
+    MEMORY
+}
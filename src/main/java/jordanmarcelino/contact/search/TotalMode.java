@@ -0,0 +1,26 @@
+package jordanmarcelino.contact.search;
+
+import java.util.Locale;
+import java.util.Objects;
+
+public enum TotalMode {
+
+    /**
+     * Count every match, served from {@link ContactCountCache} while the user's contacts are unchanged.
+     */
+    EXACT,
+
+    /**
+     * No count; {@code hasNext} comes from fetching one row more than the page size.
+     */
+    NONE,
+
+    /**
+     * Count at most {@code app.contact.search.estimate-cap} matches and report a lower bound beyond that.
+     */
+    ESTIMATE;
+
+    public static TotalMode of(String value) {
+        return Objects.isNull(value) ? EXACT : valueOf(value.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,12 @@
+package jordanmarcelino.contact.security;
+
+/**
+ * The caller of an authenticated request. Loaded through a constructor projection, so resolving it
+ * never hydrates a {@code User} entity or registers one in the persistence context.
+ */
+public record AuthenticatedUser(Long id, String username, String name, Long tokenExpiredAt) {
+
+    public AuthenticatedUser withTokenExpiredAt(Long tokenExpiredAt) {
+        return new AuthenticatedUser(id, username, name, tokenExpiredAt);
+    }
+}
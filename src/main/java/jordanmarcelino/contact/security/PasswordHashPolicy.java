@@ -0,0 +1,111 @@
+package jordanmarcelino.contact.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import jordanmarcelino.contact.config.PasswordPolicyProperties;
+import jordanmarcelino.contact.util.BCrypt;
+import jordanmarcelino.contact.util.FastBCrypt;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Picks the BCrypt cost factor. Unless {@code app.auth.password-policy.fixed-cost} is set, the cost is
+ * calibrated at startup as the highest one whose measured hash time stays within
+ * {@code target-hash-time}. Stored hashes with any other cost are rehashed after a successful login.
+ */
+@Slf4j
+@Component
+public class PasswordHashPolicy {
+
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    private final PasswordPolicyProperties properties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final MultiGauge hashesByCost;
+
+    private final int cost;
+
+    public PasswordHashPolicy(PasswordPolicyProperties properties, JdbcTemplate jdbcTemplate,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.hashesByCost = MultiGauge.builder("auth.password.hashes")
+                .description("stored password hashes per BCrypt cost")
+                .register(meterRegistry);
+        this.cost = Objects.nonNull(properties.getFixedCost()) ? properties.getFixedCost() : calibrate();
+        Gauge.builder("auth.password.policy.cost", this, PasswordHashPolicy::cost).register(meterRegistry);
+    }
+
+    public int cost() {
+        return cost;
+    }
+
+    public String gensalt() {
+        return BCrypt.gensalt(cost);
+    }
+
+    public boolean needsRehash(String hashed) {
+        return properties.isRehashOnLogin() && costOf(hashed) != cost;
+    }
+
+    public static int costOf(String hashed) {
+        try {
+            int off = hashed.charAt(3) == '$' ? 4 : 3;
+            return Integer.parseInt(hashed, off, off + 2, 10);
+        } catch (NumberFormatException | IndexOutOfBoundsException exception) {
+            return -1;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            initialDelayString = "${app.auth.password-policy.stats-refresh-interval:10m}",
+            fixedDelayString = "${app.auth.password-policy.stats-refresh-interval:10m}"
+    )
+    public void refreshStats() {
+        hashesByCost.register(
+                jdbcTemplate.query(
+                        "select substring(hash_password from 5 for 2) as cost, count(*) as total from users group by 1",
+                        (resultSet, rowNum) -> MultiGauge.Row.of(
+                                Tags.of("cost", resultSet.getString("cost")),
+                                resultSet.getLong("total")
+                        )
+                ),
+                true
+        );
+    }
+
+    private int calibrate() {
+        String salt = BCrypt.gensalt(properties.getMinCost());
+        FastBCrypt.hashpw(CALIBRATION_PASSWORD, salt);
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long started = System.nanoTime();
+            FastBCrypt.hashpw(CALIBRATION_PASSWORD, salt);
+            best = Math.min(best, System.nanoTime() - started);
+        }
+
+        long target = properties.getTargetHashTime().toNanos();
+        int chosen = properties.getMinCost();
+        long estimate = best;
+        while (chosen < properties.getMaxCost() && estimate * 2 <= target) {
+            estimate *= 2;
+            chosen++;
+        }
+
+        log.info("Calibrated password hash Cost={} EstimatedLatency={}ms Target={}ms", chosen, estimate / 1_000_000,
+                properties.getTargetHashTime().toMillis());
+        return chosen;
+    }
+}
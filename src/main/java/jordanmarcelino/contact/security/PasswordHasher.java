@@ -0,0 +1,143 @@
+package jordanmarcelino.contact.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jordanmarcelino.contact.config.PasswordHasherProperties;
+import jordanmarcelino.contact.exception.ServiceUnavailableException;
+import jordanmarcelino.contact.util.FastBCrypt;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on its own fixed-size pool with a bounded queue so that a burst of logins cannot take
+ * over the request threads. When the queue is full, or the hash is not done within
+ * {@code app.auth.password-hasher.timeout}, the caller gets a 503 with {@code Retry-After}. Background
+ * hashes only run while the queue is short, so they never delay a login.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordHasherProperties properties;
+
+    private final PasswordHashPolicy policy;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer waitTimer;
+
+    private final Timer hashTimer;
+
+    private final Timer checkTimer;
+
+    private final Counter rejections;
+
+    private final Counter timeouts;
+
+    private final Counter backgroundSkips;
+
+    public PasswordHasher(PasswordHasherProperties properties, PasswordHashPolicy policy, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.policy = policy;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getThreads(),
+                properties.getThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.waitTimer = meterRegistry.timer("auth.password.hasher.wait");
+        this.hashTimer = meterRegistry.timer("auth.password.hasher.duration", "operation", "hash");
+        this.checkTimer = meterRegistry.timer("auth.password.hasher.duration", "operation", "check");
+        this.rejections = meterRegistry.counter("auth.password.hasher.rejections");
+        this.timeouts = meterRegistry.counter("auth.password.hasher.timeouts");
+        this.backgroundSkips = meterRegistry.counter("auth.password.hasher.background.skipped");
+        meterRegistry.gauge("auth.password.hasher.queue.depth", executor, pool -> pool.getQueue().size());
+        meterRegistry.gauge("auth.password.hasher.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    public String hash(String password) {
+        return await(submit(hashTimer, () -> FastBCrypt.hashpw(password, policy.gensalt())));
+    }
+
+    /**
+     * Hashes in the background for work nobody is waiting on, e.g. rehashing after a login. Completes
+     * exceptionally with {@link RejectedExecutionException} instead of throwing when
+     * {@code background-queue-threshold} hashes are already queued.
+     */
+    public CompletableFuture<String> hashAsync(String password) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        if (executor.getQueue().size() >= properties.getBackgroundQueueThreshold()) {
+            backgroundSkips.increment();
+            result.completeExceptionally(new RejectedExecutionException("password hasher is busy"));
+            return result;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(hashTimer.record(() -> FastBCrypt.hashpw(password, policy.gensalt())));
+                } catch (RuntimeException exception) {
+                    result.completeExceptionally(exception);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            rejections.increment();
+            result.completeExceptionally(exception);
+        }
+        return result;
+    }
+
+    public boolean check(String password, String hashed) {
+        return await(submit(checkTimer, () -> FastBCrypt.checkpw(password, hashed)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> Future<T> submit(Timer timer, Supplier<T> work) {
+        long queuedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.record(work);
+            });
+        } catch (RejectedExecutionException exception) {
+            rejections.increment();
+            throw new ServiceUnavailableException(properties.getRetryAfter());
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception) {
+            future.cancel(true);
+            timeouts.increment();
+            throw new ServiceUnavailableException(properties.getRetryAfter());
+        } catch (InterruptedException exception) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package jordanmarcelino.contact.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jordanmarcelino.contact.config.PasswordPolicyProperties;
+import jordanmarcelino.contact.entity.User;
+import jordanmarcelino.contact.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moves stored hashes to the cost chosen by {@link PasswordHashPolicy} once the plaintext is known to
+ * be correct. Runs in the background; the login never waits for it and a lost race is harmless. The
+ * compare-and-set update runs on a small writer pool of its own, so BCrypt workers never wait for a
+ * database connection.
+ */
+@Slf4j
+@Component
+public class PasswordRehasher {
+
+    private final PasswordHashPolicy policy;
+
+    private final PasswordHasher passwordHasher;
+
+    private final UserRepository userRepository;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ThreadPoolExecutor writer;
+
+    public PasswordRehasher(PasswordHashPolicy policy, PasswordHasher passwordHasher, UserRepository userRepository,
+                            PasswordPolicyProperties properties, MeterRegistry meterRegistry) {
+        this.policy = policy;
+        this.passwordHasher = passwordHasher;
+        this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.writer = new ThreadPoolExecutor(
+                properties.getRehashWriterThreads(),
+                properties.getRehashWriterThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getRehashQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-rehash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        meterRegistry.gauge("auth.password.rehash.queue.depth", writer, pool -> pool.getQueue().size());
+    }
+
+    /**
+     * Skipped while the hasher is busy with requests; the next login tries again.
+     *
+     * @return completes once the rehash is written, skipped or given up on; never exceptionally
+     */
+    public CompletableFuture<Void> rehashIfNeeded(User user, String password) {
+        String currentHash = user.getPassword();
+        if (!policy.needsRehash(currentHash)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Long userId = user.getId();
+        String direction = PasswordHashPolicy.costOf(currentHash) < policy.cost() ? "upgrade" : "downgrade";
+        return passwordHasher.hashAsync(password)
+                .thenAcceptAsync(newHash -> {
+                    int updated = userRepository.updatePassword(userId, currentHash, newHash);
+                    meterRegistry.counter("auth.password.rehash", "direction", direction,
+                            "outcome", updated == 1 ? "updated" : "stale").increment();
+                }, writer)
+                .exceptionally(exception -> {
+                    if (exception.getCause() instanceof RejectedExecutionException) {
+                        meterRegistry.counter("auth.password.rehash", "direction", direction, "outcome", "skipped")
+                                .increment();
+                        return null;
+                    }
+                    meterRegistry.counter("auth.password.rehash", "direction", direction, "outcome", "failed")
+                            .increment();
+                    log.warn("Failed to rehash password UserId={}", userId, exception);
+                    return null;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdown();
+    }
+}
@@ -0,0 +1,58 @@
+package jordanmarcelino.contact.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Opaque token of the form {@code <id>.<secret>}. The id routes the lookup to a primary key fetch
+ * (and later to a shard), the secret is compared with {@link #matches(String, String)}.
+ */
+public record RoutableToken(long id, String secret) {
+
+    private static final int SECRET_BYTES = 24;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    public static String newSecret() {
+        byte[] secret = new byte[SECRET_BYTES];
+        RANDOM.nextBytes(secret);
+        return ENCODER.encodeToString(secret);
+    }
+
+    public static String format(Long id, String secret) {
+        return id + "." + secret;
+    }
+
+    public static Optional<RoutableToken> parse(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot > 19 || dot == token.length() - 1) {
+            return Optional.empty();
+        }
+
+        long id = 0;
+        for (int i = 0; i < dot; i++) {
+            char c = token.charAt(i);
+            if (c < '0' || c > '9') {
+                return Optional.empty();
+            }
+            id = id * 10 + (c - '0');
+        }
+        if (id < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new RoutableToken(id, token.substring(dot + 1)));
+    }
+
+    public static boolean matches(String expected, String actual) {
+        if (Objects.isNull(expected) || Objects.isNull(actual)) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), actual.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,12 @@
+package jordanmarcelino.contact.security;
+
+/**
+ * A session row joined with the principal columns of its user.
+ */
+public record SessionOwner(Long id, String tokenHash, Long expiredAt, Long refreshedAt, Long userId, String username,
+                           String name) {
+
+    public AuthenticatedUser principal(Long expiredAt) {
+        return new AuthenticatedUser(userId, username, name, expiredAt);
+    }
+}
@@ -0,0 +1,91 @@
+package jordanmarcelino.contact.security;
+
+import jordanmarcelino.contact.config.TokenProperties;
+import jordanmarcelino.contact.dto.Token;
+import jordanmarcelino.contact.entity.Session;
+import jordanmarcelino.contact.entity.User;
+import jordanmarcelino.contact.repository.SessionRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Per-device sessions in the {@code sessions} table, looked up by the SHA-256 of the token. Expiry
+ * slides with use, but the new expiry is only written once more than
+ * {@code app.auth.token.sliding-refresh-fraction} of the TTL has passed since the last write.
+ * Routable tokens carry the session id and only the hash of their secret is stored.
+ */
+@Component
+@AllArgsConstructor
+public class SessionStore {
+
+    private final SessionRepository sessionRepository;
+
+    private final TokenProperties tokenProperties;
+
+    public Token create(User user) {
+        long now = System.currentTimeMillis();
+        String secret = tokenProperties.isRoutable() ? RoutableToken.newSecret() : UUID.randomUUID().toString();
+
+        Session session = new Session();
+        session.setUser(user);
+        session.setTokenHash(hash(secret));
+        session.setExpiredAt(now + tokenProperties.getTtl().toMillis());
+        session.setRefreshedAt(now);
+        sessionRepository.save(session);
+
+        String token = tokenProperties.isRoutable() ? RoutableToken.format(session.getId(), secret) : secret;
+        return new Token(token, session.getExpiredAt());
+    }
+
+    public Optional<AuthenticatedUser> authenticate(String token) {
+        SessionOwner session = find(token).orElse(null);
+        long now = System.currentTimeMillis();
+        if (Objects.isNull(session) || session.expiredAt() < now) {
+            return Optional.empty();
+        }
+
+        long ttl = tokenProperties.getTtl().toMillis();
+        if (now - session.refreshedAt() > ttl * tokenProperties.getSlidingRefreshFraction()) {
+            sessionRepository.refresh(session.id(), now + ttl, now);
+            return Optional.of(session.principal(now + ttl));
+        }
+        return Optional.of(session.principal(session.expiredAt()));
+    }
+
+    public void revoke(String token) {
+        Optional<RoutableToken> routableToken = RoutableToken.parse(token);
+        if (routableToken.isPresent()) {
+            sessionRepository.deleteByIdAndTokenHash(routableToken.get().id(), hash(routableToken.get().secret()));
+        } else {
+            sessionRepository.deleteByTokenHash(hash(token));
+        }
+    }
+
+    private Optional<SessionOwner> find(String token) {
+        Optional<RoutableToken> routableToken = RoutableToken.parse(token);
+        if (routableToken.isEmpty()) {
+            return sessionRepository.findOwnerByTokenHash(hash(token));
+        }
+
+        String tokenHash = hash(routableToken.get().secret());
+        return sessionRepository.findOwnerById(routableToken.get().id())
+                .filter(session -> RoutableToken.matches(session.tokenHash(), tokenHash));
+    }
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
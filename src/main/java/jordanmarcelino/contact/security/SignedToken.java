@@ -0,0 +1,4 @@
+package jordanmarcelino.contact.security;
+
+public record SignedToken(Long userId, long expiredAt, long epoch) {
+}
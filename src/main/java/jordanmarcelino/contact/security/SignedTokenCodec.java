@@ -0,0 +1,96 @@
+package jordanmarcelino.contact.security;
+
+import jordanmarcelino.contact.config.TokenProperties;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Compact {@code <payload>.<mac>} tokens where the payload carries the user id, the expiry and the
+ * user's revocation epoch, and the mac is an HMAC-SHA256 over the payload.
+ */
+@Component
+public class SignedTokenCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final int PAYLOAD_LENGTH = 3 * Long.BYTES;
+
+    private final SecretKeySpec key;
+
+    private final ThreadLocal<Mac> mac;
+
+    public SignedTokenCodec(TokenProperties properties) {
+        if (properties.getMode() == TokenMode.SIGNED
+                && (Objects.isNull(properties.getSecret()) || properties.getSecret().isBlank())) {
+            throw new IllegalStateException("app.auth.token.secret is required when app.auth.token.mode=SIGNED");
+        }
+
+        String secret = Objects.requireNonNullElse(properties.getSecret(), "");
+        this.key = secret.isEmpty() ? null : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String encode(SignedToken token) {
+        byte[] payload = ByteBuffer.allocate(PAYLOAD_LENGTH)
+                .putLong(token.userId())
+                .putLong(token.expiredAt())
+                .putLong(token.epoch())
+                .array();
+
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(sign(payload));
+    }
+
+    public Optional<SignedToken> decode(String token) {
+        int separator = token.indexOf('.');
+        if (separator <= 0 || separator != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+
+        byte[] payload;
+        byte[] signature;
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            payload = decoder.decode(token.substring(0, separator));
+            signature = decoder.decode(token.substring(separator + 1));
+        } catch (IllegalArgumentException exception) {
+            return Optional.empty();
+        }
+
+        if (payload.length != PAYLOAD_LENGTH || !MessageDigest.isEqual(sign(payload), signature)) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        return Optional.of(new SignedToken(buffer.getLong(), buffer.getLong(), buffer.getLong()));
+    }
+
+    private byte[] sign(byte[] payload) {
+        if (Objects.isNull(key)) {
+            throw new IllegalStateException("app.auth.token.secret is not configured");
+        }
+        return mac.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        if (Objects.isNull(key)) {
+            return null;
+        }
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
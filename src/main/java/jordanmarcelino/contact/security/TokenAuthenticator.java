@@ -0,0 +1,117 @@
+package jordanmarcelino.contact.security;
+
+import jordanmarcelino.contact.config.TokenProperties;
+import jordanmarcelino.contact.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves an {@code X-API-KEY} value to its user. Signed tokens are verified on the CPU and only go
+ * to the database when the locally known revocation epoch of the user is older than
+ * {@code app.auth.token.epoch-revalidate-interval}. Session tokens are looked up in the sessions table,
+ * everything else by the token column of the user. Routable {@code <id>.<secret>} tokens are fetched
+ * by primary key and compared in constant time instead of probing the token index.
+ */
+@Component
+@AllArgsConstructor
+public class TokenAuthenticator {
+
+    private final UserRepository userRepository;
+
+    private final TokenCache tokenCache;
+
+    private final SignedTokenCodec signedTokenCodec;
+
+    private final TokenProperties tokenProperties;
+
+    private final TokenFilter tokenFilter;
+
+    private final SessionStore sessionStore;
+
+    private final Map<Long, KnownEpoch> knownEpochs = new ConcurrentHashMap<>();
+
+    public Optional<AuthenticatedUser> authenticate(String token) {
+        if (tokenProperties.getMode() == TokenMode.SIGNED) {
+            Optional<SignedToken> signedToken = signedTokenCodec.decode(token);
+            if (signedToken.isPresent()) {
+                return authenticate(signedToken.get());
+            }
+        }
+
+        Optional<AuthenticatedUser> cachedUser = tokenCache.get(token);
+        if (cachedUser.isPresent()) {
+            return cachedUser;
+        }
+        if (tokenProperties.getMode() == TokenMode.SESSION) {
+            Optional<AuthenticatedUser> user = sessionStore.authenticate(token);
+            user.ifPresent(value -> tokenCache.put(token, value));
+            return user;
+        }
+        if (tokenFilter.rejects(token)) {
+            return Optional.empty();
+        }
+
+        AuthenticatedUser user = findByToken(token).orElse(null);
+        if (Objects.isNull(user) || user.tokenExpiredAt() < System.currentTimeMillis()) {
+            tokenFilter.rememberInvalid(token);
+            return Optional.empty();
+        }
+
+        tokenCache.put(token, user);
+        return Optional.of(user);
+    }
+
+    public void evict(String token) {
+        tokenCache.evict(token);
+    }
+
+    public void evictUser(Long userId) {
+        tokenCache.evictUser(userId);
+        knownEpochs.remove(userId);
+    }
+
+    private Optional<AuthenticatedUser> findByToken(String token) {
+        Optional<RoutableToken> routableToken = RoutableToken.parse(token);
+        if (routableToken.isEmpty()) {
+            return userRepository.findPrincipalByToken(token);
+        }
+        return userRepository.findTokenOwnerById(routableToken.get().id())
+                .filter(owner -> RoutableToken.matches(owner.token(), token))
+                .map(TokenOwner::principal);
+    }
+
+    private Optional<AuthenticatedUser> authenticate(SignedToken token) {
+        long now = System.currentTimeMillis();
+        if (token.expiredAt() < now) {
+            return Optional.empty();
+        }
+
+        KnownEpoch known = knownEpochs.get(token.userId());
+        if (Objects.nonNull(known)
+                && known.epoch() == token.epoch()
+                && now - known.verifiedAt() < tokenProperties.getEpochRevalidateInterval().toMillis()) {
+            return Optional.of(known.user().withTokenExpiredAt(token.expiredAt()));
+        }
+
+        TokenOwner owner = userRepository.findTokenOwnerById(token.userId()).orElse(null);
+        if (Objects.isNull(owner) || !Objects.equals(owner.tokenEpoch(), token.epoch())) {
+            knownEpochs.remove(token.userId());
+            return Optional.empty();
+        }
+
+        if (knownEpochs.size() >= tokenProperties.getMaxKnownEpochs()) {
+            knownEpochs.clear();
+        }
+        AuthenticatedUser user = owner.principal().withTokenExpiredAt(token.expiredAt());
+        knownEpochs.put(owner.id(), new KnownEpoch(user, owner.tokenEpoch(), now));
+        return Optional.of(user);
+    }
+
+    private record KnownEpoch(AuthenticatedUser user, long epoch, long verifiedAt) {
+    }
+}
@@ -0,0 +1,132 @@
+package jordanmarcelino.contact.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jordanmarcelino.contact.config.TokenCacheProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps an {@code X-API-KEY} value to the user that owns it so that repeated requests skip
+ * the token lookup. Entries never outlive the token's {@code tokenExpiredAt}. Over
+ * {@code max-size}, expired entries go first and then those that would expire soonest.
+ */
+@Component
+public class TokenCache {
+
+    private final TokenCacheProperties properties;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter sizeEvictions;
+
+    private final Counter expiredEvictions;
+
+    private final Counter explicitEvictions;
+
+    public TokenCache(TokenCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.hits = meterRegistry.counter("auth.token.cache.hits");
+        this.misses = meterRegistry.counter("auth.token.cache.misses");
+        this.sizeEvictions = meterRegistry.counter("auth.token.cache.evictions", "cause", "size");
+        this.expiredEvictions = meterRegistry.counter("auth.token.cache.evictions", "cause", "expired");
+        this.explicitEvictions = meterRegistry.counter("auth.token.cache.evictions", "cause", "explicit");
+        meterRegistry.gaugeMapSize("auth.token.cache.size", Tags.empty(), entries);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Optional<AuthenticatedUser> get(String token) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        Entry entry = entries.get(token);
+        if (Objects.isNull(entry)) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            if (entries.remove(token, entry)) {
+                expiredEvictions.increment();
+            }
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        return Optional.of(entry.user());
+    }
+
+    public void put(String token, AuthenticatedUser user) {
+        if (!isEnabled() || Objects.isNull(user.tokenExpiredAt())) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long expiresAt = Math.min(now + properties.getTtl().toMillis(), user.tokenExpiredAt());
+        if (expiresAt <= now) {
+            return;
+        }
+
+        entries.put(token, new Entry(user, expiresAt));
+        if (entries.size() > properties.getMaxSize()) {
+            shrink(now);
+        }
+    }
+
+    public void evict(String token) {
+        if (Objects.nonNull(token) && Objects.nonNull(entries.remove(token))) {
+            explicitEvictions.increment();
+        }
+    }
+
+    public void evictUser(Long userId) {
+        entries.entrySet().removeIf(entry -> {
+            if (entry.getValue().user().id().equals(userId)) {
+                explicitEvictions.increment();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private void shrink(long now) {
+        entries.entrySet().removeIf(entry -> {
+            if (entry.getValue().expiresAt() <= now) {
+                expiredEvictions.increment();
+                return true;
+            }
+            return false;
+        });
+
+        int excess = entries.size() - properties.getMaxSize();
+        if (excess <= 0) {
+            return;
+        }
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAt()))
+                .limit(excess)
+                .toList()
+                .forEach(entry -> {
+                    if (entries.remove(entry.getKey(), entry.getValue())) {
+                        sizeEvictions.increment();
+                    }
+                });
+    }
+
+    private record Entry(AuthenticatedUser user, long expiresAt) {
+    }
+}
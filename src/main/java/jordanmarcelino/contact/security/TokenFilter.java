@@ -0,0 +1,167 @@
+package jordanmarcelino.contact.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jordanmarcelino.contact.config.TokenFilterProperties;
+import jordanmarcelino.contact.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rejects unknown opaque tokens before they reach the token lookup: a short-lived
+ * negative cache of tokens that already failed, and a Bloom filter over the live {@code users.token}
+ * values that is rebuilt periodically. New tokens are added after their transaction commits and
+ * before the login response is written, and a rebuild in progress receives them as well, so a
+ * freshly issued token is never rejected by this instance. Tokens issued by other instances only reach
+ * the filter with the next rebuild, which is why rejecting on a filter miss is opt-in.
+ */
+@Slf4j
+@Component
+public class TokenFilter {
+
+    private static final int FETCH_SIZE = 1_000;
+
+    private final TokenFilterProperties properties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, Long> negativeCache = new ConcurrentHashMap<>();
+
+    private final Counter bloomRejections;
+
+    private final Counter negativeRejections;
+
+    private volatile BloomFilter current;
+
+    private volatile BloomFilter building;
+
+    public TokenFilter(TokenFilterProperties properties, JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.bloomRejections = meterRegistry.counter("auth.token.filter.rejections", "reason", "bloom");
+        this.negativeRejections = meterRegistry.counter("auth.token.filter.rejections", "reason", "negative");
+        meterRegistry.gaugeMapSize("auth.token.filter.negative.size", Tags.empty(), negativeCache);
+        meterRegistry.gauge("auth.token.filter.bloom.bytes", this,
+                filter -> Objects.isNull(filter.current) ? 0 : filter.current.sizeInBytes());
+    }
+
+    public boolean rejects(String token) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+
+        Long expiresAt = negativeCache.get(token);
+        if (Objects.nonNull(expiresAt)) {
+            if (expiresAt > System.currentTimeMillis()) {
+                negativeRejections.increment();
+                return true;
+            }
+            negativeCache.remove(token, expiresAt);
+        }
+
+        BloomFilter filter = current;
+        if (properties.isRejectOnFilterMiss() && Objects.nonNull(filter) && !filter.mightContain(token)) {
+            bloomRejections.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public void rememberInvalid(String token) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (negativeCache.size() >= properties.getNegativeMaxSize()) {
+            negativeCache.values().removeIf(expiresAt -> expiresAt <= now);
+            if (negativeCache.size() >= properties.getNegativeMaxSize()) {
+                negativeCache.clear();
+            }
+        }
+        negativeCache.put(token, now + properties.getNegativeTtl().toMillis());
+    }
+
+    public void register(String token) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(token);
+                }
+            });
+        } else {
+            add(token);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            initialDelayString = "${app.auth.token-filter.rebuild-interval:5m}",
+            fixedDelayString = "${app.auth.token-filter.rebuild-interval:5m}"
+    )
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        Long liveTokens = jdbcTemplate.queryForObject("select count(*) from users where token is not null", Long.class);
+        long expected = Math.max(properties.getMinExpectedTokens(), 2 * Objects.requireNonNullElse(liveTokens, 0L));
+
+        BloomFilter filter = new BloomFilter(expected, properties.getFalsePositiveProbability());
+        building = filter;
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                    connection -> {
+                        PreparedStatement statement = connection.prepareStatement(
+                                "select token from users where token is not null");
+                        statement.setFetchSize(FETCH_SIZE);
+                        return statement;
+                    },
+                    (RowCallbackHandler) resultSet -> filter.put(resultSet.getString(1))
+            ));
+            current = filter;
+        } finally {
+            building = null;
+        }
+
+        log.info("Rebuilt token filter Tokens={} Bytes={} Latency={}ms", liveTokens, filter.sizeInBytes(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void add(String token) {
+        negativeCache.remove(token);
+
+        BloomFilter next = building;
+        if (Objects.nonNull(next)) {
+            next.put(token);
+        }
+        BloomFilter filter = current;
+        if (Objects.nonNull(filter)) {
+            filter.put(token);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package jordanmarcelino.contact.security;
+
+public enum TokenMode {
+
+    OPAQUE,
+
+    SIGNED,
+
+    SESSION
+}
@@ -0,0 +1,11 @@
+package jordanmarcelino.contact.security;
+
+/**
+ * Token state of a user fetched by primary key, for routable and signed tokens.
+ */
+public record TokenOwner(Long id, String username, String name, String token, Long tokenExpiredAt, Long tokenEpoch) {
+
+    public AuthenticatedUser principal() {
+        return new AuthenticatedUser(id, username, name, tokenExpiredAt);
+    }
+}
@@ -0,0 +1,141 @@
+package jordanmarcelino.contact.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jordanmarcelino.contact.config.TokenSweeperProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clears expired opaque tokens from {@code users} and deletes expired rows from {@code sessions}.
+ * Every batch is its own auto-committed statement over at most {@code batch-size} rows picked with
+ * {@code for update skip locked}, so row locks are held briefly and never wait on a login. The pass
+ * runs on one pooled connection that holds a session-level advisory lock; other instances skip.
+ */
+@Slf4j
+@Component
+public class TokenSweeper {
+
+    private static final String SWEEP_USERS = """
+            update users set token = null, token_expired_at = null
+            where id in (
+                select id from users
+                where token is not null and token_expired_at < ?
+                limit ?
+                for update skip locked
+            )
+            """;
+
+    private static final String SWEEP_SESSIONS = """
+            delete from sessions
+            where id in (
+                select id from sessions
+                where expired_at < ?
+                limit ?
+                for update skip locked
+            )
+            """;
+
+    private final TokenSweeperProperties properties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Counter sweptUsers;
+
+    private final Counter sweptSessions;
+
+    private final Counter skippedPasses;
+
+    private final Timer passDuration;
+
+    public TokenSweeper(TokenSweeperProperties properties, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.sweptUsers = meterRegistry.counter("auth.token.sweeper.rows", "table", "users");
+        this.sweptSessions = meterRegistry.counter("auth.token.sweeper.rows", "table", "sessions");
+        this.skippedPasses = meterRegistry.counter("auth.token.sweeper.skipped");
+        this.passDuration = meterRegistry.timer("auth.token.sweeper.duration");
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.auth.token-sweeper.interval:10m}",
+            fixedDelayString = "${app.auth.token-sweeper.interval:10m}"
+    )
+    public void sweep() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (properties.isSingleNode() && !tryLock(connection, "select pg_try_advisory_lock(?)")) {
+                skippedPasses.increment();
+                return null;
+            }
+
+            try {
+                long started = System.nanoTime();
+                long now = System.currentTimeMillis();
+                long users = sweep(connection, SWEEP_USERS, now);
+                long sessions = sweep(connection, SWEEP_SESSIONS, now);
+                long elapsed = System.nanoTime() - started;
+
+                sweptUsers.increment(users);
+                sweptSessions.increment(sessions);
+                passDuration.record(elapsed, TimeUnit.NANOSECONDS);
+                if (users + sessions > 0) {
+                    log.info("Swept expired tokens Users={} Sessions={} Latency={}ms", users, sessions,
+                            elapsed / 1_000_000);
+                }
+            } finally {
+                if (properties.isSingleNode()) {
+                    tryLock(connection, "select pg_advisory_unlock(?)");
+                }
+            }
+            return null;
+        });
+    }
+
+    private long sweep(Connection connection, String sql, long now) throws SQLException {
+        long swept = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int batch = 0; batch < properties.getMaxBatches(); batch++) {
+                statement.setLong(1, now);
+                statement.setInt(2, properties.getBatchSize());
+                int rows = statement.executeUpdate();
+                swept += rows;
+                if (rows < properties.getBatchSize()) {
+                    break;
+                }
+                pause();
+            }
+        }
+        return swept;
+    }
+
+    private boolean tryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, properties.getAdvisoryLockKey());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(properties.getPauseBetweenBatches());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package jordanmarcelino.contact.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jordanmarcelino.contact.config.UsernameFilterProperties;
+import jordanmarcelino.contact.util.CountingBloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.Objects;
+
+/**
+ * In-memory counting Bloom filter over {@code users.username}. A negative answer lets registration
+ * skip the existence lookup; the insert-on-conflict in {@code UserRepository.insertIfAbsent} stays the
+ * source of truth, so usernames registered on another instance only cost the skipped early check.
+ */
+@Slf4j
+@Component
+public class UsernameFilter {
+
+    private static final int FETCH_SIZE = 1_000;
+
+    private final UsernameFilterProperties properties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter negatives;
+
+    private final Counter positives;
+
+    private final Counter falsePositives;
+
+    private volatile CountingBloomFilter current;
+
+    private volatile CountingBloomFilter building;
+
+    public UsernameFilter(UsernameFilterProperties properties, JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.negatives = meterRegistry.counter("auth.username.filter.lookups", "result", "absent");
+        this.positives = meterRegistry.counter("auth.username.filter.lookups", "result", "maybe-present");
+        this.falsePositives = meterRegistry.counter("auth.username.filter.false.positives");
+        Gauge.builder("auth.username.filter.expected.fpp", this,
+                        filter -> Objects.isNull(filter.current) ? 0 : filter.current.expectedFalsePositiveProbability())
+                .register(meterRegistry);
+        Gauge.builder("auth.username.filter.bytes", this,
+                        filter -> Objects.isNull(filter.current) ? 0 : filter.current.sizeInBytes())
+                .register(meterRegistry);
+        Gauge.builder("auth.username.filter.entries", this,
+                        filter -> Objects.isNull(filter.current) ? 0 : filter.current.size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return false only if the username is definitely not registered, as far as this instance knows
+     */
+    public boolean mightContain(String username) {
+        CountingBloomFilter filter = current;
+        if (!properties.isEnabled() || Objects.isNull(filter)) {
+            return true;
+        }
+
+        if (filter.mightContain(username)) {
+            positives.increment();
+            return true;
+        }
+        negatives.increment();
+        return false;
+    }
+
+    public void recordFalsePositive() {
+        if (properties.isEnabled() && Objects.nonNull(current)) {
+            falsePositives.increment();
+        }
+    }
+
+    public void add(String username) {
+        CountingBloomFilter next = building;
+        if (Objects.nonNull(next)) {
+            next.put(username);
+        }
+        CountingBloomFilter filter = current;
+        if (Objects.nonNull(filter)) {
+            filter.put(username);
+        }
+    }
+
+    public void remove(String username) {
+        CountingBloomFilter next = building;
+        if (Objects.nonNull(next)) {
+            next.remove(username);
+        }
+        CountingBloomFilter filter = current;
+        if (Objects.nonNull(filter)) {
+            filter.remove(username);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        Long usernames = jdbcTemplate.queryForObject("select count(*) from users", Long.class);
+        long expected = Math.max(properties.getMinExpectedUsernames(), 2 * Objects.requireNonNullElse(usernames, 0L));
+
+        CountingBloomFilter filter = new CountingBloomFilter(expected, properties.getFalsePositiveProbability());
+        building = filter;
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                    connection -> {
+                        PreparedStatement statement = connection.prepareStatement("select username from users");
+                        statement.setFetchSize(FETCH_SIZE);
+                        return statement;
+                    },
+                    (RowCallbackHandler) resultSet -> filter.put(resultSet.getString(1))
+            ));
+            current = filter;
+        } finally {
+            building = null;
+        }
+
+        log.info("Rebuilt username filter Usernames={} Bytes={} Latency={}ms", usernames, filter.sizeInBytes(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.auth.username-filter.check-interval:10m}",
+            fixedDelayString = "${app.auth.username-filter.check-interval:10m}"
+    )
+    public void rebuildIfSaturated() {
+        CountingBloomFilter filter = current;
+        if (Objects.nonNull(filter) && filter.expectedFalsePositiveProbability()
+                > properties.getFalsePositiveProbability() * properties.getRebuildThreshold()) {
+            rebuild();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import jordanmarcelino.contact.entity.Contact;
 import jordanmarcelino.contact.exception.NotFoundException;
 import jordanmarcelino.contact.repository.AddressRepository;
 import jordanmarcelino.contact.repository.ContactRepository;
+import jordanmarcelino.contact.search.ContactVersions;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -26,6 +27,8 @@ public class AddressServiceImpl implements AddressService {
 
     private ValidationService validationService;
 
+    private ContactVersions contactVersions;
+
     private AddressResponse toAddressResponse(Address address) {
         return new AddressResponse(address.getId(), address.getCountry(), address.getProvince(), address.getCity(),
                 address.getStreet(), address.getPostalCode());
@@ -33,7 +36,7 @@ public class AddressServiceImpl implements AddressService {
 
     @Override
     public List<AddressResponse> findAll(GetAddressRequest request) {
-        Contact contact = contactRepository.findByUserAndId(request.getUser(), request.getContactId()).orElseThrow(() -> new NotFoundException(CONTACT_NOT_FOUND));
+        Contact contact = contactRepository.findByUserIdAndId(request.getUser().id(), request.getContactId()).orElseThrow(() -> new NotFoundException(CONTACT_NOT_FOUND));
 
         return addressRepository.findAllByContact(contact).stream().map(this::toAddressResponse).toList();
     }
@@ -42,7 +45,7 @@ public class AddressServiceImpl implements AddressService {
     public AddressResponse save(CreateAddressRequest request) {
         validationService.validate(request);
 
-        Contact contact = contactRepository.findByUserAndId(request.getUser(), request.getContactId()).orElse(null);
+        Contact contact = contactRepository.findByUserIdAndId(request.getUser().id(), request.getContactId()).orElse(null);
 
         if (Objects.isNull(contact)) {
             throw new NotFoundException(CONTACT_NOT_FOUND);
@@ -55,13 +58,14 @@ public class AddressServiceImpl implements AddressService {
         address.setStreet(request.getStreet());
         address.setPostalCode(request.getPostalCode());
         addressRepository.save(address);
+        contactVersions.bumpAfterCommit(request.getUser().id());
 
         return toAddressResponse(address);
     }
 
     @Override
     public AddressResponse get(GetAddressRequest request) {
-        Contact contact = contactRepository.findByUserAndId(request.getUser(), request.getContactId()).orElseThrow(() -> new NotFoundException(CONTACT_NOT_FOUND));
+        Contact contact = contactRepository.findByUserIdAndId(request.getUser().id(), request.getContactId()).orElseThrow(() -> new NotFoundException(CONTACT_NOT_FOUND));
         Address address =
                 addressRepository.findFirstByContactAndId(contact, request.getId()).orElseThrow(() -> new NotFoundException(ADDRESS_NOT_FOUND));
 
@@ -72,7 +76,7 @@ public class AddressServiceImpl implements AddressService {
     public AddressResponse update(UpdateAddressRequest request) {
         validationService.validate(request);
 
-        Contact contact = contactRepository.findByUserAndId(request.getUser(), request.getContactId()).orElseThrow(() -> new NotFoundException(CONTACT_NOT_FOUND));
+        Contact contact = contactRepository.findByUserIdAndId(request.getUser().id(), request.getContactId()).orElseThrow(() -> new NotFoundException(CONTACT_NOT_FOUND));
         Address address =
                 addressRepository.findFirstByContactAndId(contact, request.getId()).orElseThrow(() -> new NotFoundException(ADDRESS_NOT_FOUND));
 
@@ -91,17 +95,19 @@ public class AddressServiceImpl implements AddressService {
         }
 
         addressRepository.save(address);
+        contactVersions.bumpAfterCommit(request.getUser().id());
 
         return toAddressResponse(address);
     }
 
     @Override
     public void delete(DeleteAddressRequest request) {
-        Contact contact = contactRepository.findByUserAndId(request.getUser(), request.getContactId()).orElseThrow(() -> new NotFoundException(CONTACT_NOT_FOUND));
+        Contact contact = contactRepository.findByUserIdAndId(request.getUser().id(), request.getContactId()).orElseThrow(() -> new NotFoundException(CONTACT_NOT_FOUND));
 
         Address address =
                 addressRepository.findFirstByContactAndId(contact, request.getId()).orElseThrow(() -> new NotFoundException(ADDRESS_NOT_FOUND));
 
         addressRepository.delete(address);
+        contactVersions.bumpAfterCommit(request.getUser().id());
     }
 }
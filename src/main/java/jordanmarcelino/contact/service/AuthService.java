@@ -4,7 +4,7 @@ import jordanmarcelino.contact.dto.Token;
 import jordanmarcelino.contact.dto.UserLoginRequest;
 import jordanmarcelino.contact.dto.UserRegisterRequest;
 import jordanmarcelino.contact.dto.UserResponse;
-import jordanmarcelino.contact.entity.User;
+import jordanmarcelino.contact.security.AuthenticatedUser;
 
 public interface AuthService {
 
@@ -12,5 +12,5 @@ public interface AuthService {
 
     Token login(UserLoginRequest request);
 
-    void logout(User user);
+    void logout(AuthenticatedUser user, String token);
 }
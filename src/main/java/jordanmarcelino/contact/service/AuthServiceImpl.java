@@ -1,5 +1,6 @@
 package jordanmarcelino.contact.service;
 
+import jordanmarcelino.contact.config.TokenProperties;
 import jordanmarcelino.contact.dto.Token;
 import jordanmarcelino.contact.dto.UserLoginRequest;
 import jordanmarcelino.contact.dto.UserRegisterRequest;
@@ -8,13 +9,22 @@ import jordanmarcelino.contact.entity.User;
 import jordanmarcelino.contact.exception.LoginFailedException;
 import jordanmarcelino.contact.exception.UserAlreadyRegisteredException;
 import jordanmarcelino.contact.repository.UserRepository;
-import jordanmarcelino.contact.util.BCrypt;
+import jordanmarcelino.contact.security.AuthenticatedUser;
+import jordanmarcelino.contact.security.PasswordHasher;
+import jordanmarcelino.contact.security.PasswordRehasher;
+import jordanmarcelino.contact.security.RoutableToken;
+import jordanmarcelino.contact.security.SessionStore;
+import jordanmarcelino.contact.security.SignedToken;
+import jordanmarcelino.contact.security.SignedTokenCodec;
+import jordanmarcelino.contact.security.TokenAuthenticator;
+import jordanmarcelino.contact.security.TokenFilter;
+import jordanmarcelino.contact.security.TokenMode;
+import jordanmarcelino.contact.security.UsernameFilter;
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.Example;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,28 +37,58 @@ public class AuthServiceImpl implements AuthService {
 
     private final ValidationService validationService;
 
+    private final TokenAuthenticator tokenAuthenticator;
+
+    private final SignedTokenCodec signedTokenCodec;
+
+    private final TokenProperties tokenProperties;
+
+    private final TokenFilter tokenFilter;
+
+    private final PasswordHasher passwordHasher;
+
+    private final PasswordRehasher passwordRehasher;
+
+    private final UsernameFilter usernameFilter;
+
+    private final SessionStore sessionStore;
 
     @Override
-    @Transactional
     public UserResponse register(UserRegisterRequest request) {
         validationService.validate(request);
 
-        User user = new User();
-        user.setUsername(request.getUsername());
-
-        if (userRepository.findOne(Example.of(user)).isPresent()) {
-            throw new UserAlreadyRegisteredException();
+        boolean mightExist = usernameFilter.mightContain(request.getUsername());
+        if (mightExist) {
+            if (userRepository.existsByUsername(request.getUsername())) {
+                throw new UserAlreadyRegisteredException();
+            }
+            usernameFilter.recordFalsePositive();
         }
 
-        user.setName(request.getName());
-        user.setPassword(BCrypt.hashpw(request.getPassword(), BCrypt.gensalt()));
-        userRepository.save(user);
+        String password = passwordHasher.hash(request.getPassword());
+
+        Optional<Long> id;
+        try {
+            id = userRepository.insertIfAbsent(request.getUsername(), request.getName(), password, Instant.now());
+        } catch (DataIntegrityViolationException exception) {
+            id = Optional.empty();
+        }
 
-        return new UserResponse(user.getId(), user.getUsername(), user.getName());
+        if (id.isPresent() || !mightExist) {
+            usernameFilter.add(request.getUsername());
+        }
+        return new UserResponse(
+                id.orElseThrow(UserAlreadyRegisteredException::new),
+                request.getUsername(),
+                request.getName()
+        );
     }
 
+    /**
+     * Not transactional: the password check may wait in the hasher queue, and no connection is held
+     * while it does. Only the token or session write runs in its own short transaction.
+     */
     @Override
-    @Transactional
     public Token login(UserLoginRequest request) {
         validationService.validate(request);
 
@@ -58,27 +98,46 @@ public class AuthServiceImpl implements AuthService {
         }
 
         User user = optionalUser.get();
-        if (!BCrypt.checkpw(request.getPassword(), user.getPassword())) {
+        if (!passwordHasher.check(request.getPassword(), user.getPassword())) {
             throw new LoginFailedException();
         }
+        passwordRehasher.rehashIfNeeded(user, request.getPassword());
+
+        if (tokenProperties.getMode() == TokenMode.SESSION) {
+            return sessionStore.create(user);
+        }
+
+        long expiredAt = Instant.now().plus(tokenProperties.getTtl()).toEpochMilli();
+        if (tokenProperties.getMode() == TokenMode.SIGNED) {
+            return new Token(
+                    signedTokenCodec.encode(new SignedToken(user.getId(), expiredAt, user.getTokenEpoch())),
+                    expiredAt
+            );
+        }
 
         Token token = new Token(
-                UUID.randomUUID().toString(),
-                Instant.now().plus(Duration.ofDays(30L)).toEpochMilli()
+                tokenProperties.isRoutable()
+                        ? RoutableToken.format(user.getId(), RoutableToken.newSecret())
+                        : UUID.randomUUID().toString(),
+                expiredAt
         );
 
-        user.setToken(token.getToken());
-        user.setTokenExpiredAt(token.getExpiredAt());
-        userRepository.save(user);
+        userRepository.updateToken(user.getId(), token.getToken(), token.getExpiredAt(), Instant.now());
+        tokenFilter.register(token.getToken());
 
         return token;
     }
 
     @Override
-    public void logout(User user) {
-        user.setToken(null);
-        user.setTokenExpiredAt(null);
+    @Transactional
+    public void logout(AuthenticatedUser user, String token) {
+        if (tokenProperties.getMode() == TokenMode.SESSION) {
+            sessionStore.revoke(token);
+            tokenAuthenticator.evict(token);
+            return;
+        }
 
-        userRepository.save(user);
+        userRepository.revokeTokens(user.id(), Instant.now());
+        tokenAuthenticator.evictUser(user.id());
     }
 }
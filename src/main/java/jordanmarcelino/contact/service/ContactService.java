@@ -1,13 +1,20 @@
 package jordanmarcelino.contact.service;
 
 import jordanmarcelino.contact.dto.*;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public interface ContactService {
 
-    Page<ContactResponse> search(SearchContactRequest request);
+    Slice<ContactResponse> search(SearchContactRequest request);
+
+    Window<ContactResponse> scroll(SearchContactRequest request);
+
+    List<ContactSuggestionResponse> autocomplete(AutocompleteContactRequest request);
 
     ContactResponse get(GetContactRequest request);
 
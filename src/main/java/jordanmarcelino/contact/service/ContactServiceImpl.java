@@ -1,22 +1,50 @@
 package jordanmarcelino.contact.service;
 
-import jakarta.persistence.criteria.Predicate;
+import jordanmarcelino.contact.config.ContactSearchProperties;
+import jordanmarcelino.contact.config.PhoneProperties;
 import jordanmarcelino.contact.dto.*;
 import jordanmarcelino.contact.entity.Contact;
+import jordanmarcelino.contact.exception.InvalidSearchException;
 import jordanmarcelino.contact.exception.NotFoundException;
 import jordanmarcelino.contact.repository.ContactRepository;
+import jordanmarcelino.contact.repository.ContactSpecifications;
+import jordanmarcelino.contact.repository.UserRepository;
+import jordanmarcelino.contact.search.ContactCountCache;
+import jordanmarcelino.contact.search.ContactCursor;
+import jordanmarcelino.contact.search.ContactMemoryIndex;
+import jordanmarcelino.contact.search.ContactNameDictionary;
+import jordanmarcelino.contact.search.ContactQuery;
+import jordanmarcelino.contact.search.ContactSearchCache;
+import jordanmarcelino.contact.search.ContactSearchExecutor;
+import jordanmarcelino.contact.search.ContactTextQuery;
+import jordanmarcelino.contact.search.ContactVersions;
+import jordanmarcelino.contact.search.EstimatedPage;
+import jordanmarcelino.contact.search.SearchBackend;
+import jordanmarcelino.contact.search.TotalMode;
+import jordanmarcelino.contact.util.NamePhonetics;
+import jordanmarcelino.contact.util.PhoneNumbers;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
@@ -28,58 +56,285 @@ public class ContactServiceImpl implements ContactService {
 
     private final ValidationService validationService;
 
+    private final UserRepository userRepository;
+
+    private final ContactSearchProperties searchProperties;
+
+    private final ContactMemoryIndex memoryIndex;
+
+    private final ContactCountCache countCache;
+
+    private final ContactVersions contactVersions;
+
+    private final ContactSearchExecutor searchExecutor;
+
+    private final PhoneProperties phoneProperties;
+
+    private final ContactNameDictionary nameDictionary;
+
+    private final ContactSearchCache searchCache;
+
     private ContactResponse toContactResponse(Contact contact) {
         return new ContactResponse(contact.getId(), contact.getFirstName(), contact.getLastName(), contact.getEmail(),
                 contact.getPhone());
     }
 
+    private void setName(Contact contact, String firstName, String lastName) {
+        contact.setFirstName(firstName);
+        contact.setLastName(lastName);
+        contact.setFirstNamePhonetic(NamePhonetics.key(firstName));
+        contact.setLastNamePhonetic(NamePhonetics.key(lastName));
+    }
+
+    private void setPhone(Contact contact, String phone) {
+        String digits = PhoneNumbers.normalize(phone, phoneProperties.getDefaultCountryCode());
+        contact.setPhone(phone);
+        contact.setPhoneDigits(digits);
+        contact.setPhoneDigitsReversed(PhoneNumbers.reverse(digits));
+    }
+
     @Override
-    public Page<ContactResponse> search(SearchContactRequest request) {
+    public Slice<ContactResponse> search(SearchContactRequest request) {
         validationService.validate(request);
+        validateFilters(request);
+
+        return searchCache.get(request, () -> searchUncached(request));
+    }
+
+    private Slice<ContactResponse> searchUncached(SearchContactRequest request) {
+        Pageable pageable = PageRequest.of(request.getPage(), request.getSize());
+        ContactQuery query;
+        if (Objects.nonNull(request.getQ())) {
+            Optional<String> tsQuery = ContactTextQuery.prefixQuery(request.getQ());
+            if (tsQuery.isEmpty()) {
+                return new PageImpl<>(List.of(), pageable, 0L);
+            }
+            query = rankedQuery(request.getUser().id(), tsQuery.get());
+        } else if (isFuzzy(request)) {
+            List<String> words = ContactTextQuery.terms(request.getName());
+            if (words.isEmpty()) {
+                return new PageImpl<>(List.of(), pageable, 0L);
+            }
+            Optional<long[]> matched = nameDictionary.fuzzy(request.getUser().id(), words);
+            if (matched.isPresent()) {
+                return toPage(matched.get(), pageable);
+            }
+            query = similarQuery(request.getUser().id(), words);
+        } else {
+            Optional<long[]> indexed = isPhonetic(request) ? Optional.empty() : memoryIndex.search(request);
+            if (indexed.isPresent()) {
+                return toPage(indexed.get(), pageable);
+            }
+            query = specificationQuery(specification(request));
+        }
+
+        return switch (TotalMode.of(request.getTotal())) {
+            case EXACT -> exactPage(request, query, pageable);
+            case NONE -> slice(query, pageable);
+            case ESTIMATE -> estimatedPage(request, query, pageable);
+        };
+    }
+
+    private Page<ContactResponse> exactPage(SearchContactRequest request, ContactQuery query, Pageable pageable) {
+        return searchExecutor.page(
+                pageable,
+                timeout -> query.content(pageable.getOffset(), pageable.getPageSize(), timeout),
+                timeout -> countCache.get(request, () -> query.count(timeout))
+        );
+    }
 
-        Specification<Contact> specification = (root, query, builder) -> {
-            List<Predicate> predicates = new ArrayList<>();
-            predicates.add(builder.equal(root.get("user"), request.getUser()));
-
-            if (Objects.nonNull(request.getName())) {
-                predicates.add(
-                        builder.or(
-                                builder.like(root.get("firstName"), "%" + request.getName() + "%"),
-                                builder.like(root.get("lastName"), "%" + request.getName() + "%")
-                        )
-                );
+    private Slice<ContactResponse> slice(ContactQuery query, Pageable pageable) {
+        List<ContactResponse> contactResponses = searchExecutor.run(remaining ->
+                query.content(pageable.getOffset(), pageable.getPageSize() + 1, remaining.get()));
+        boolean hasNext = contactResponses.size() > pageable.getPageSize();
+
+        return new SliceImpl<>(hasNext ? contactResponses.subList(0, pageable.getPageSize()) : contactResponses,
+                pageable, hasNext);
+    }
+
+    private Page<ContactResponse> estimatedPage(SearchContactRequest request, ContactQuery query, Pageable pageable) {
+        return searchExecutor.run(remaining -> {
+            List<ContactResponse> contactResponses = query.content(pageable.getOffset(), pageable.getPageSize(),
+                    remaining.get());
+            Optional<Long> cached = countCache.peek(request);
+            if (cached.isPresent()) {
+                return new PageImpl<>(contactResponses, pageable, cached.get());
             }
 
-            if (Objects.nonNull(request.getEmail())) {
-                predicates.add(
-                        builder.like(root.get("email"), "%" + request.getEmail() + "%")
-                );
+            int cap = searchProperties.getEstimateCap();
+            long count = query.countUpTo(cap, remaining.get());
+            if (count > cap) {
+                return new EstimatedPage<>(contactResponses, pageable, cap);
             }
+            return new PageImpl<>(contactResponses, pageable, count);
+        });
+    }
 
-            if (Objects.nonNull(request.getPhone())) {
-                predicates.add(
-                        builder.like(root.get("phone"), "%" + request.getPhone() + "%")
-                );
+    private ContactQuery specificationQuery(Specification<Contact> specification) {
+        return new ContactQuery() {
+            @Override
+            public List<ContactResponse> content(long offset, int limit, Duration timeout) {
+                return contactRepository.findContent(specification, offset, limit, timeout);
             }
 
-            return query.where(predicates.toArray(new Predicate[]{})).getRestriction();
+            @Override
+            public long count(Duration timeout) {
+                return contactRepository.count(specification, timeout);
+            }
+
+            @Override
+            public long countUpTo(int cap, Duration timeout) {
+                return contactRepository.countUpTo(specification, cap, timeout);
+            }
         };
+    }
 
-        Pageable pageable = PageRequest.of(request.getPage(), request.getSize());
-        Page<Contact> contacts = contactRepository.findAll(specification, pageable);
-        List<ContactResponse> contactResponses = contacts.getContent().stream().map(this::toContactResponse).toList();
+    private ContactQuery rankedQuery(Long userId, String tsQuery) {
+        return new ContactQuery() {
+            @Override
+            public List<ContactResponse> content(long offset, int limit, Duration timeout) {
+                return contactRepository.findRanked(userId, tsQuery, offset, limit, timeout);
+            }
+
+            @Override
+            public long count(Duration timeout) {
+                return contactRepository.countRanked(userId, tsQuery, timeout);
+            }
+
+            @Override
+            public long countUpTo(int cap, Duration timeout) {
+                return contactRepository.countRankedUpTo(userId, tsQuery, cap, timeout);
+            }
+        };
+    }
+
+    private ContactQuery similarQuery(Long userId, List<String> words) {
+        return new ContactQuery() {
+            @Override
+            public List<ContactResponse> content(long offset, int limit, Duration timeout) {
+                return contactRepository.findSimilar(userId, words, offset, limit, timeout);
+            }
+
+            @Override
+            public long count(Duration timeout) {
+                return contactRepository.countSimilar(userId, words, timeout);
+            }
+
+            @Override
+            public long countUpTo(int cap, Duration timeout) {
+                return contactRepository.countSimilarUpTo(userId, words, cap, timeout);
+            }
+        };
+    }
+
+    @Override
+    public Window<ContactResponse> scroll(SearchContactRequest request) {
+        validationService.validate(request);
+        validateFilters(request);
+
+        KeysetScrollPosition position = ContactCursor.decode(request.getCursor());
+        Optional<long[]> indexed = isPhonetic(request) ? Optional.empty() : memoryIndex.search(request);
+        if (indexed.isPresent()) {
+            return toWindow(indexed.get(), position, request.getSize());
+        }
+
+        Specification<Contact> specification = specification(request);
+        long lastId = ContactCursor.lastId(position).orElse(0L);
+        List<ContactResponse> contactResponses = searchExecutor.run(remaining ->
+                contactRepository.findContentAfter(specification, lastId, request.getSize() + 1, remaining.get()));
+        boolean hasNext = contactResponses.size() > request.getSize();
+
+        return toWindow(hasNext ? contactResponses.subList(0, request.getSize()) : contactResponses, hasNext);
+    }
+
+    /**
+     * Rejects filters a search would otherwise drop: {@code q} ranks on its own, and a fuzzy name search
+     * matches names only.
+     */
+    private static void validateFilters(SearchContactRequest request) {
+        if (Objects.nonNull(request.getQ()) && (Objects.nonNull(request.getCursor())
+                || Objects.nonNull(request.getName()) || Objects.nonNull(request.getEmail())
+                || Objects.nonNull(request.getPhone()) || Boolean.TRUE.equals(request.getFuzzy())
+                || Boolean.TRUE.equals(request.getPhonetic()))) {
+            throw new InvalidSearchException("q can't be combined with cursor, name, email, phone, fuzzy or phonetic");
+        }
+        if (isFuzzy(request) && (Objects.nonNull(request.getCursor()) || Objects.nonNull(request.getEmail())
+                || Objects.nonNull(request.getPhone()))) {
+            throw new InvalidSearchException("fuzzy name search can't be combined with cursor, email or phone");
+        }
+    }
 
-        return new PageImpl<>(contactResponses, pageable, contacts.getTotalElements());
+    private static boolean isFuzzy(SearchContactRequest request) {
+        return Boolean.TRUE.equals(request.getFuzzy()) && Objects.nonNull(request.getName());
+    }
+
+    /**
+     * The memory index only knows substring matching, so phonetic name searches go to the key columns.
+     */
+    private static boolean isPhonetic(SearchContactRequest request) {
+        return Boolean.TRUE.equals(request.getPhonetic()) && Objects.nonNull(request.getName());
+    }
+
+    private Specification<Contact> specification(SearchContactRequest request) {
+        SearchBackend backend = searchProperties.getBackend() == SearchBackend.LIKE
+                ? SearchBackend.LIKE
+                : SearchBackend.TRIGRAM;
+        return ContactSpecifications.search(request, backend, phoneProperties.getDefaultCountryCode());
+    }
+
+    private Window<ContactResponse> toWindow(long[] ids, KeysetScrollPosition position, int size) {
+        int from = ContactCursor.lastId(position)
+                .map(lastId -> {
+                    int index = Arrays.binarySearch(ids, lastId);
+                    return index >= 0 ? index + 1 : -index - 1;
+                })
+                .orElse(0);
+        int to = Math.min(from + size, ids.length);
+
+        return toWindow(findAllInOrder(Arrays.stream(ids, from, to).boxed().toList()), to < ids.length);
+    }
+
+    private Window<ContactResponse> toWindow(List<ContactResponse> contactResponses, boolean hasNext) {
+        return Window.from(contactResponses, index -> ContactCursor.position(contactResponses.get(index).getId()),
+                hasNext);
+    }
+
+    private List<ContactResponse> findAllInOrder(List<Long> ids) {
+        Map<Long, ContactResponse> contacts = contactRepository.findResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(ContactResponse::getId, Function.identity()));
+        return ids.stream()
+                .map(contacts::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private Page<ContactResponse> toPage(long[] ids, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), ids.length);
+        int to = Math.min(from + pageable.getPageSize(), ids.length);
+        List<ContactResponse> contactResponses = findAllInOrder(Arrays.stream(ids, from, to).boxed().toList());
+
+        return new PageImpl<>(contactResponses, pageable, ids.length);
+    }
+
+    @Override
+    public List<ContactSuggestionResponse> autocomplete(AutocompleteContactRequest request) {
+        validationService.validate(request);
+
+        Long userId = request.getUser().id();
+        String prefix = request.getPrefix().strip().toLowerCase(Locale.ROOT);
+        return nameDictionary.complete(userId, prefix, request.getLimit())
+                .orElseGet(() -> contactRepository.findSuggestions(userId, prefix, request.getLimit()));
     }
 
     @Override
     public ContactResponse get(GetContactRequest request) {
-        Contact contact = contactRepository.findByUserAndId(request.getUser(), request.getId()).orElse(null);
+        ContactResponse contact = contactRepository.findResponseByUserIdAndId(request.getUser().id(), request.getId())
+                .orElse(null);
         if (Objects.isNull(contact)) {
             throw new NotFoundException(CONTACT_NOT_FOUND);
         }
 
-        return toContactResponse(contact);
+        return contact;
     }
 
     @Override
@@ -88,12 +343,14 @@ public class ContactServiceImpl implements ContactService {
         validationService.validate(request);
 
         Contact contact = new Contact();
-        contact.setUser(request.getUser());
-        contact.setFirstName(request.getFirstName());
-        contact.setLastName(request.getLastName());
+        contact.setUser(userRepository.getReferenceById(request.getUser().id()));
+        setName(contact, request.getFirstName(), request.getLastName());
         contact.setEmail(request.getEmail());
-        contact.setPhone(request.getPhone());
+        setPhone(contact, request.getPhone());
         contactRepository.save(contact);
+        memoryIndex.indexAfterCommit(request.getUser().id(), contact);
+        nameDictionary.indexAfterCommit(request.getUser().id(), contact);
+        contactVersions.bumpAfterCommit(request.getUser().id());
 
         return toContactResponse(contact);
     }
@@ -103,16 +360,18 @@ public class ContactServiceImpl implements ContactService {
     public ContactResponse update(UpdateContactRequest request) {
         validationService.validate(request);
 
-        Contact contact = contactRepository.findByUserAndId(request.getUser(), request.getId()).orElse(null);
+        Contact contact = contactRepository.findByUserIdAndId(request.getUser().id(), request.getId()).orElse(null);
         if (Objects.isNull(contact)) {
             throw new NotFoundException(CONTACT_NOT_FOUND);
         }
 
-        contact.setFirstName(request.getFirstName());
-        contact.setLastName(request.getLastName());
+        setName(contact, request.getFirstName(), request.getLastName());
         contact.setEmail(request.getEmail());
-        contact.setPhone(request.getPhone());
-        contactRepository.save(contact);
+        setPhone(contact, request.getPhone());
+        contactRepository.saveAndFlush(contact);
+        memoryIndex.indexAfterCommit(request.getUser().id(), contact);
+        nameDictionary.indexAfterCommit(request.getUser().id(), contact);
+        contactVersions.bumpAfterCommit(request.getUser().id());
 
         return toContactResponse(contact);
     }
@@ -120,11 +379,14 @@ public class ContactServiceImpl implements ContactService {
     @Override
     @Transactional
     public void delete(DeleteContactRequest request) {
-        Contact contact = contactRepository.findByUserAndId(request.getUser(), request.getId()).orElse(null);
+        Contact contact = contactRepository.findByUserIdAndId(request.getUser().id(), request.getId()).orElse(null);
         if (Objects.isNull(contact)) {
             throw new NotFoundException(CONTACT_NOT_FOUND);
         }
 
         contactRepository.delete(contact);
+        memoryIndex.removeAfterCommit(request.getUser().id(), contact.getId());
+        nameDictionary.removeAfterCommit(request.getUser().id(), contact.getId());
+        contactVersions.bumpAfterCommit(request.getUser().id());
     }
 }
@@ -2,13 +2,13 @@ package jordanmarcelino.contact.service;
 
 import jordanmarcelino.contact.dto.UpdateUserRequest;
 import jordanmarcelino.contact.dto.UserResponse;
-import jordanmarcelino.contact.entity.User;
+import jordanmarcelino.contact.security.AuthenticatedUser;
 
 public interface UserService {
 
-    UserResponse get(User user);
+    UserResponse get(AuthenticatedUser user);
 
-    UserResponse update(User user, UpdateUserRequest request);
+    UserResponse update(AuthenticatedUser user, UpdateUserRequest request);
 
-    void delete(User user);
+    void delete(AuthenticatedUser user);
 }
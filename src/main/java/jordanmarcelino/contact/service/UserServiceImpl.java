@@ -5,11 +5,14 @@ import jordanmarcelino.contact.dto.UserResponse;
 import jordanmarcelino.contact.entity.User;
 import jordanmarcelino.contact.exception.NotFoundException;
 import jordanmarcelino.contact.repository.UserRepository;
-import jordanmarcelino.contact.util.BCrypt;
+import jordanmarcelino.contact.security.AuthenticatedUser;
+import jordanmarcelino.contact.security.PasswordHasher;
+import jordanmarcelino.contact.security.TokenAuthenticator;
+import jordanmarcelino.contact.security.UsernameFilter;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Objects;
 
 @Service
@@ -20,39 +23,49 @@ public class UserServiceImpl implements UserService {
 
     private final ValidationService validationService;
 
+    private final TokenAuthenticator tokenAuthenticator;
+
+    private final PasswordHasher passwordHasher;
+
+    private final UsernameFilter usernameFilter;
+
     @Override
-    public UserResponse get(User user) {
+    public UserResponse get(AuthenticatedUser user) {
         return UserResponse.builder()
-                .id(user.getId())
-                .name(user.getName())
-                .username(user.getUsername())
+                .id(user.id())
+                .name(user.name())
+                .username(user.username())
                 .build();
     }
 
+    /**
+     * Not transactional, so no connection is held while the new password is hashed; the changed
+     * fields are written by a single update afterwards.
+     */
     @Override
-    @Transactional
-    public UserResponse update(User user, UpdateUserRequest request) {
+    public UserResponse update(AuthenticatedUser principal, UpdateUserRequest request) {
         validationService.validate(request);
 
-        if (Objects.nonNull(request.getName())) {
-            user.setName(request.getName());
-        }
-        if (Objects.nonNull(request.getPassword())) {
-            user.setPassword(BCrypt.hashpw(user.getPassword(), BCrypt.gensalt()));
+        User user = userRepository.findById(principal.id()).orElseThrow(NotFoundException::new);
+        String password = Objects.isNull(request.getPassword()) ? null : passwordHasher.hash(request.getPassword());
+        if (userRepository.updateProfile(user.getId(), request.getName(), password, Instant.now()) == 0) {
+            throw new NotFoundException();
         }
-        userRepository.save(user);
+        tokenAuthenticator.evictUser(user.getId());
 
         return UserResponse.builder()
                 .id(user.getId())
                 .username(user.getUsername())
-                .name(user.getName())
+                .name(Objects.requireNonNullElse(request.getName(), user.getName()))
                 .build();
     }
 
     @Override
-    public void delete(User user) {
-        userRepository.findById(user.getId()).ifPresentOrElse(userRepository::delete, () -> {
+    public void delete(AuthenticatedUser user) {
+        userRepository.findById(user.id()).ifPresentOrElse(userRepository::delete, () -> {
             throw new NotFoundException();
         });
+        tokenAuthenticator.evictUser(user.id());
+        usernameFilter.remove(user.username());
     }
 }
@@ -0,0 +1,100 @@
+package jordanmarcelino.contact.util;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe Bloom filter with 4-bit counters, so values can be removed again. Counters saturate at
+ * 15 and are never decremented from there, which keeps removals from introducing false negatives for
+ * values that were put.
+ */
+public class CountingBloomFilter {
+
+    private static final int COUNTERS_PER_INT = 8;
+
+    private static final int MAX_COUNT = 0xf;
+
+    private final AtomicIntegerArray counters;
+
+    private final long counterCount;
+
+    private final int hashFunctions;
+
+    private final AtomicLong size = new AtomicLong();
+
+    public CountingBloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        long insertions = Math.max(1L, expectedInsertions);
+        long cells = (long) Math.ceil(-insertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        int intCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1L, (cells + COUNTERS_PER_INT - 1) / COUNTERS_PER_INT));
+
+        this.counters = new AtomicIntegerArray(intCount);
+        this.counterCount = (long) intCount * COUNTERS_PER_INT;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) counterCount / insertions * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long hash = BloomFilter.hash(value);
+        long h2 = BloomFilter.mix(hash ^ 0x9e3779b97f4a7c15L) | 1L;
+        for (int i = 0; i < hashFunctions; i++) {
+            update(Long.remainderUnsigned(hash + i * h2, counterCount), 1);
+        }
+        size.incrementAndGet();
+    }
+
+    public void remove(String value) {
+        if (!mightContain(value)) {
+            return;
+        }
+
+        long hash = BloomFilter.hash(value);
+        long h2 = BloomFilter.mix(hash ^ 0x9e3779b97f4a7c15L) | 1L;
+        for (int i = 0; i < hashFunctions; i++) {
+            update(Long.remainderUnsigned(hash + i * h2, counterCount), -1);
+        }
+        size.decrementAndGet();
+    }
+
+    public boolean mightContain(String value) {
+        long hash = BloomFilter.hash(value);
+        long h2 = BloomFilter.mix(hash ^ 0x9e3779b97f4a7c15L) | 1L;
+        for (int i = 0; i < hashFunctions; i++) {
+            if (count(Long.remainderUnsigned(hash + i * h2, counterCount)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long size() {
+        return size.get();
+    }
+
+    public long sizeInBytes() {
+        return (long) counters.length() * Integer.BYTES;
+    }
+
+    public double expectedFalsePositiveProbability() {
+        return Math.pow(1 - Math.exp(-hashFunctions * (double) Math.max(0L, size.get()) / counterCount), hashFunctions);
+    }
+
+    private int count(long index) {
+        int shift = (int) (index % COUNTERS_PER_INT) * 4;
+        return (counters.get((int) (index / COUNTERS_PER_INT)) >>> shift) & MAX_COUNT;
+    }
+
+    private void update(long index, int delta) {
+        int slot = (int) (index / COUNTERS_PER_INT);
+        int shift = (int) (index % COUNTERS_PER_INT) * 4;
+        while (true) {
+            int current = counters.get(slot);
+            int count = (current >>> shift) & MAX_COUNT;
+            if (count == MAX_COUNT || (delta < 0 && count == 0)) {
+                return;
+            }
+            int next = (current & ~(MAX_COUNT << shift)) | ((count + delta) << shift);
+            if (counters.compareAndSet(slot, current, next)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package jordanmarcelino.contact.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Drop-in replacement for {@link BCrypt#hashpw(String, String)} and {@link BCrypt#checkpw(String, String)}
+ * that produces byte-for-byte identical hashes.
+ * <p>
+ * The Blowfish key schedule lives in per-thread arrays that are reset with {@code System.arraycopy}
+ * instead of being cloned for every hash, the password and salt key words are expanded once per hash
+ * instead of once per round, and the sixteen Feistel rounds are unrolled with both halves of the block
+ * kept in locals. The expensive loop therefore allocates nothing.
+ */
+public final class FastBCrypt {
+
+    private static final ThreadLocal<FastBCrypt> STATE = ThreadLocal.withInitial(FastBCrypt::new);
+
+    private static final int P_LENGTH = 18;
+
+    private static final int S_LENGTH = 1024;
+
+    private static final int SALT_WORDS = BCrypt.BCRYPT_SALT_LEN / 4;
+
+    private final int[] P = new int[P_LENGTH];
+
+    private final int[] S = new int[S_LENGTH];
+
+    private final int[] passwordWords = new int[P_LENGTH];
+
+    private final int[] buggyPasswordWords = new int[P_LENGTH];
+
+    private final int[] saltWords = new int[P_LENGTH];
+
+    private final int[] cdata = new int[BCrypt.bf_crypt_ciphertext.length];
+
+    private final byte[] saltBytes = new byte[BCrypt.BCRYPT_SALT_LEN];
+
+    private final byte[] hashed = new byte[BCrypt.bf_crypt_ciphertext.length * 4];
+
+    private FastBCrypt() {
+    }
+
+    /**
+     * Hash a password using the OpenBSD bcrypt scheme
+     *
+     * @param password the password to hash
+     * @param salt     the salt to hash with (perhaps generated using BCrypt.gensalt)
+     * @return the hashed password
+     */
+    public static String hashpw(String password, String salt) {
+        return STATE.get().hash(password.getBytes(StandardCharsets.UTF_8), salt, false);
+    }
+
+    /**
+     * Check that a plaintext password matches a previously hashed one
+     *
+     * @param plaintext the plaintext password to verify
+     * @param hashed    the previously-hashed password
+     * @return true if the passwords match, false otherwise
+     */
+    public static boolean checkpw(String plaintext, String hashed) {
+        String candidate = STATE.get().hash(plaintext.getBytes(StandardCharsets.UTF_8), hashed, true);
+        return BCrypt.equalsNoEarlyReturn(hashed, candidate);
+    }
+
+    private String hash(byte[] password, String salt, boolean forCheck) {
+        char minor = (char) 0;
+        int off;
+
+        if (salt == null) {
+            throw new IllegalArgumentException("salt cannot be null");
+        }
+
+        int saltLength = salt.length();
+        if (saltLength < 28) {
+            throw new IllegalArgumentException("Invalid salt");
+        }
+        if (salt.charAt(0) != '$' || salt.charAt(1) != '2') {
+            throw new IllegalArgumentException("Invalid salt version");
+        }
+        if (salt.charAt(2) == '$') {
+            off = 3;
+        } else {
+            minor = salt.charAt(2);
+            if ((minor != 'a' && minor != 'x' && minor != 'y' && minor != 'b') || salt.charAt(3) != '$') {
+                throw new IllegalArgumentException("Invalid salt revision");
+            }
+            off = 4;
+        }
+        if (salt.charAt(off + 2) > '$') {
+            throw new IllegalArgumentException("Missing salt rounds");
+        }
+        if (off == 4 && saltLength < 29) {
+            throw new IllegalArgumentException("Invalid salt");
+        }
+
+        int logRounds = Integer.parseInt(salt.substring(off, off + 2));
+        String realSalt = salt.substring(off + 3, off + 25);
+        byte[] decodedSalt = BCrypt.decode_base64(realSalt, BCrypt.BCRYPT_SALT_LEN);
+        if (decodedSalt.length != BCrypt.BCRYPT_SALT_LEN) {
+            throw new IllegalArgumentException("Bad salt length");
+        }
+        System.arraycopy(decodedSalt, 0, saltBytes, 0, BCrypt.BCRYPT_SALT_LEN);
+
+        long rounds;
+        if (logRounds < BCrypt.MIN_LOG_ROUNDS || logRounds > BCrypt.MAX_LOG_ROUNDS) {
+            if (!forCheck || logRounds != 0) {
+                throw new IllegalArgumentException("Bad number of rounds");
+            }
+            rounds = 0;
+        } else {
+            rounds = BCrypt.roundsForLogRounds(logRounds);
+        }
+
+        cryptRaw(password, minor >= 'a', rounds, minor == 'x', minor == 'a' ? 0x10000 : 0);
+
+        StringBuilder rs = new StringBuilder(60);
+        rs.append("$2");
+        if (minor >= 'a') {
+            rs.append(minor);
+        }
+        rs.append('$');
+        if (logRounds < 10) {
+            rs.append('0');
+        }
+        rs.append(logRounds);
+        rs.append('$');
+        BCrypt.encode_base64(saltBytes, saltBytes.length, rs);
+        BCrypt.encode_base64(hashed, hashed.length - 1, rs);
+        return rs.toString();
+    }
+
+    private void cryptRaw(byte[] password, boolean terminated, long rounds, boolean signExtBug, int safety) {
+        int sign = expandPassword(password, terminated);
+        int diff = 0;
+        for (int i = 0; i < P_LENGTH; i++) {
+            diff |= passwordWords[i] ^ buggyPasswordWords[i];
+        }
+        int[] keyWords = signExtBug ? buggyPasswordWords : passwordWords;
+
+        for (int i = 0; i < SALT_WORDS; i++) {
+            saltWords[i] = (saltBytes[i * 4] & 0xff) << 24
+                    | (saltBytes[i * 4 + 1] & 0xff) << 16
+                    | (saltBytes[i * 4 + 2] & 0xff) << 8
+                    | (saltBytes[i * 4 + 3] & 0xff);
+        }
+        for (int i = SALT_WORDS; i < P_LENGTH; i++) {
+            saltWords[i] = saltWords[i % SALT_WORDS];
+        }
+
+        System.arraycopy(BCrypt.P_orig, 0, P, 0, P_LENGTH);
+        System.arraycopy(BCrypt.S_orig, 0, S, 0, S_LENGTH);
+
+        diff |= diff >> 16;
+        diff &= 0xffff;
+        diff += 0xffff;
+        sign <<= 9;
+        sign &= ~diff & safety;
+
+        ekskey(keyWords, sign);
+        for (long i = 0; i < rounds; i++) {
+            key(keyWords);
+            key(saltWords);
+        }
+
+        System.arraycopy(BCrypt.bf_crypt_ciphertext, 0, cdata, 0, cdata.length);
+        for (int i = 0; i < 64; i++) {
+            for (int j = 0; j < cdata.length; j += 2) {
+                encipher(cdata[j], cdata[j + 1], cdata, j);
+            }
+        }
+
+        for (int i = 0, j = 0; i < cdata.length; i++) {
+            hashed[j++] = (byte) (cdata[i] >> 24);
+            hashed[j++] = (byte) (cdata[i] >> 16);
+            hashed[j++] = (byte) (cdata[i] >> 8);
+            hashed[j++] = (byte) cdata[i];
+        }
+    }
+
+    /**
+     * Cyclically extract the 18 correct and sign-extension-buggy key words from the password, which
+     * are the same for every round of the expensive loop.
+     *
+     * @return the non-benign sign extension flag
+     */
+    private int expandPassword(byte[] password, boolean terminated) {
+        int length = terminated ? password.length + 1 : password.length;
+        int off = 0;
+        int sign = 0;
+
+        for (int word = 0; word < P_LENGTH; word++) {
+            int correct = 0;
+            int buggy = 0;
+            for (int i = 0; i < 4; i++) {
+                byte b = off < password.length ? password[off] : passwordByte(password, off, length);
+                correct = (correct << 8) | (b & 0xff);
+                buggy = (buggy << 8) | b;
+                if (i > 0) {
+                    sign |= buggy & 0x80;
+                }
+                off = (off + 1) % length;
+            }
+            passwordWords[word] = correct;
+            buggyPasswordWords[word] = buggy;
+        }
+        return sign;
+    }
+
+    private static byte passwordByte(byte[] password, int off, int length) {
+        if (off >= length) {
+            throw new ArrayIndexOutOfBoundsException(off);
+        }
+        return 0;
+    }
+
+    private void ekskey(int[] keyWords, int sign) {
+        final int[] P = this.P;
+        final int[] S = this.S;
+
+        for (int i = 0; i < P_LENGTH; i++) {
+            P[i] ^= keyWords[i];
+        }
+        P[0] ^= sign;
+
+        int l = 0;
+        int r = 0;
+        int word = 0;
+        for (int i = 0; i < P_LENGTH; i += 2) {
+            l ^= saltWords[word++ & (SALT_WORDS - 1)];
+            r ^= saltWords[word++ & (SALT_WORDS - 1)];
+            encipher(l, r, P, i);
+            l = P[i];
+            r = P[i + 1];
+        }
+        for (int i = 0; i < S_LENGTH; i += 2) {
+            l ^= saltWords[word++ & (SALT_WORDS - 1)];
+            r ^= saltWords[word++ & (SALT_WORDS - 1)];
+            encipher(l, r, S, i);
+            l = S[i];
+            r = S[i + 1];
+        }
+    }
+
+    private void key(int[] keyWords) {
+        final int[] P = this.P;
+        final int[] S = this.S;
+
+        for (int i = 0; i < P_LENGTH; i++) {
+            P[i] ^= keyWords[i];
+        }
+
+        encipher(0, 0, P, 0);
+        for (int i = 2; i < P_LENGTH; i += 2) {
+            encipher(P[i - 2], P[i - 1], P, i);
+        }
+        encipher(P[P_LENGTH - 2], P[P_LENGTH - 1], S, 0);
+        for (int i = 2; i < S_LENGTH; i += 2) {
+            encipher(S[i - 2], S[i - 1], S, i);
+        }
+    }
+
+    /**
+     * Blowfish encipher a single 64-bit block and store the two halves at {@code dst[off]} and
+     * {@code dst[off + 1]}
+     */
+    private void encipher(int l, int r, int[] dst, int off) {
+        final int[] P = this.P;
+        final int[] S = this.S;
+
+        l ^= P[0];
+        r ^= feistel(S, l) ^ P[1];
+        l ^= feistel(S, r) ^ P[2];
+        r ^= feistel(S, l) ^ P[3];
+        l ^= feistel(S, r) ^ P[4];
+        r ^= feistel(S, l) ^ P[5];
+        l ^= feistel(S, r) ^ P[6];
+        r ^= feistel(S, l) ^ P[7];
+        l ^= feistel(S, r) ^ P[8];
+        r ^= feistel(S, l) ^ P[9];
+        l ^= feistel(S, r) ^ P[10];
+        r ^= feistel(S, l) ^ P[11];
+        l ^= feistel(S, r) ^ P[12];
+        r ^= feistel(S, l) ^ P[13];
+        l ^= feistel(S, r) ^ P[14];
+        r ^= feistel(S, l) ^ P[15];
+        l ^= feistel(S, r) ^ P[16];
+
+        dst[off] = r ^ P[17];
+        dst[off + 1] = l;
+    }
+
+    private static int feistel(int[] S, int x) {
+        return ((S[x >>> 24] + S[0x100 | ((x >>> 16) & 0xff)]) ^ S[0x200 | ((x >>> 8) & 0xff)])
+                + S[0x300 | (x & 0xff)];
+    }
+}
@@ -0,0 +1,132 @@
+package jordanmarcelino.contact.util;
+
+import java.util.Arrays;
+
+/**
+ * Finds the words of a sorted array within a given {@link Levenshtein} distance of a query, walking
+ * the array as if it were a trie. Consecutive words share the distance-table rows of their common
+ * prefix, and once every cell of a prefix's row exceeds the maximum distance no word starting with
+ * that prefix can match, so the whole run of them is skipped with a binary search. This is the
+ * Levenshtein automaton of the query run over the implicit trie of the array, and it reads a small
+ * fraction of the words a scan would.
+ */
+public final class LevenshteinMatcher {
+
+    private LevenshteinMatcher() {
+    }
+
+    /**
+     * Calls {@code consumer} with the index of each of the first {@code size} words, which must be sorted
+     * and distinct, that is within {@code maxDistance} of {@code query}, in word order.
+     */
+    public static void search(String[] words, int size, String query, int maxDistance, MatchConsumer consumer) {
+        int columns = query.length() + 1;
+        int[][] rows = new int[Math.max(16, columns + maxDistance + 1)][];
+        rows[0] = new int[columns];
+        for (int j = 0; j < columns; j++) {
+            rows[0][j] = j;
+        }
+
+        String previous = "";
+        int computed = 0;
+        int i = 0;
+        while (i < size) {
+            String word = words[i];
+            int depth = Math.min(computed, commonPrefix(previous, word));
+            previous = word;
+
+            int pruned = -1;
+            while (depth < word.length()) {
+                depth++;
+                if (depth >= rows.length) {
+                    rows = Arrays.copyOf(rows, depth * 2);
+                }
+                if (!fillRow(rows, depth, word.charAt(depth - 1), query, maxDistance)) {
+                    pruned = depth;
+                    break;
+                }
+            }
+            computed = depth;
+
+            if (pruned >= 0) {
+                i = skipPrefix(words, i, size, word, pruned);
+                computed = pruned - 1;
+                continue;
+            }
+            int distance = rows[depth][columns - 1];
+            if (distance <= maxDistance) {
+                consumer.accept(i, distance);
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Fills the row for a prefix ending in {@code c} and returns whether any cell is still within
+     * {@code maxDistance}.
+     */
+    private static boolean fillRow(int[][] rows, int depth, char c, String query, int maxDistance) {
+        int[] above = rows[depth - 1];
+        int[] row = rows[depth];
+        if (row == null) {
+            row = new int[above.length];
+            rows[depth] = row;
+        }
+
+        row[0] = depth;
+        int min = depth;
+        for (int j = 1; j < row.length; j++) {
+            int cost = query.charAt(j - 1) == c ? 0 : 1;
+            int value = Math.min(Math.min(row[j - 1], above[j]) + 1, above[j - 1] + cost);
+            row[j] = value;
+            min = Math.min(min, value);
+        }
+        return min <= maxDistance;
+    }
+
+    /**
+     * First index after {@code from} whose word does not share the first {@code length} characters of
+     * {@code word}. The words that do are contiguous from {@code from} on and usually few, so the search
+     * gallops forward before bisecting.
+     */
+    private static int skipPrefix(String[] words, int from, int size, String word, int length) {
+        int low = from + 1;
+        int step = 1;
+        while (low < size && hasPrefix(words[low], word, length)) {
+            from = low;
+            low += step;
+            step <<= 1;
+        }
+
+        int high = Math.min(low, size);
+        low = from + 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (hasPrefix(words[mid], word, length)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static boolean hasPrefix(String candidate, String word, int length) {
+        return candidate.regionMatches(0, word, 0, length);
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    @FunctionalInterface
+    public interface MatchConsumer {
+
+        void accept(int index, int distance);
+    }
+}
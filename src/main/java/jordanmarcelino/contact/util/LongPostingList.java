@@ -0,0 +1,112 @@
+package jordanmarcelino.contact.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.LongConsumer;
+
+/**
+ * Sorted set of {@code long} ids backed by a growable primitive array. Ids that arrive in
+ * increasing order, the common case for identity keys, are appended without shifting.
+ * Not thread-safe.
+ */
+public final class LongPostingList {
+
+    private static final long[] EMPTY = new long[0];
+
+    private long[] values = EMPTY;
+
+    private int size;
+
+    public boolean add(long value) {
+        int index = size > 0 && values[size - 1] < value ? size : Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0 && index < size) {
+            return false;
+        }
+        if (index < 0) {
+            index = -index - 1;
+        }
+
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(4, size + (size >> 1)));
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+        return true;
+    }
+
+    public boolean remove(long value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) {
+            return false;
+        }
+
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        if (size < values.length >> 2) {
+            values = size == 0 ? EMPTY : Arrays.copyOf(values, size << 1);
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long sizeInBytes() {
+        return 32L + 8L * values.length;
+    }
+
+    public void forEach(LongConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(values[i]);
+        }
+    }
+
+    /**
+     * Ids present in every list, in increasing order. Starts from the shortest list and gallops
+     * through the longer ones, so the cost is bounded by the shortest list times the log of the others.
+     */
+    public static long[] intersect(LongPostingList... lists) {
+        if (lists.length == 0) {
+            return EMPTY;
+        }
+
+        LongPostingList[] sorted = lists.clone();
+        Arrays.sort(sorted, Comparator.comparingInt(LongPostingList::size));
+
+        long[] result = Arrays.copyOf(sorted[0].values, sorted[0].size);
+        int length = result.length;
+        for (int i = 1; i < sorted.length && length > 0; i++) {
+            length = retain(result, length, sorted[i]);
+        }
+        return length == result.length ? result : Arrays.copyOf(result, length);
+    }
+
+    private static int retain(long[] candidates, int length, LongPostingList list) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < length && from < list.size; i++) {
+            long candidate = candidates[i];
+            int step = 1;
+            int to = from;
+            while (to < list.size && list.values[to] < candidate) {
+                from = to + 1;
+                to += step;
+                step <<= 1;
+            }
+            int index = Arrays.binarySearch(list.values, from, Math.min(to + 1, list.size), candidate);
+            if (index >= 0) {
+                candidates[kept++] = candidate;
+                from = index + 1;
+            } else {
+                from = -index - 1;
+            }
+        }
+        return kept;
+    }
+}
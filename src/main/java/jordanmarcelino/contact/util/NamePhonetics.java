@@ -0,0 +1,38 @@
+package jordanmarcelino.contact.util;
+
+import org.apache.commons.codec.language.DoubleMetaphone;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Double Metaphone keys of names, so that names that sound alike ("Jon", "John") share a key. A key
+ * covers the first four consonant sounds of the name.
+ */
+public final class NamePhonetics {
+
+    private static final DoubleMetaphone ENCODER = new DoubleMetaphone();
+
+    private NamePhonetics() {
+    }
+
+    /**
+     * The primary key of {@code name} as stored on a contact, or an empty string when the name is
+     * missing or has nothing to encode.
+     */
+    public static String key(String name) {
+        return Objects.toString(ENCODER.doubleMetaphone(name), "");
+    }
+
+    /**
+     * The distinct primary and alternate keys of a searched word; empty when it has nothing to encode.
+     */
+    public static List<String> keys(String word) {
+        String primary = key(word);
+        String alternate = Objects.toString(ENCODER.doubleMetaphone(word, true), "");
+        if (primary.isEmpty()) {
+            return alternate.isEmpty() ? List.of() : List.of(alternate);
+        }
+        return alternate.isEmpty() || alternate.equals(primary) ? List.of(primary) : List.of(primary, alternate);
+    }
+}
@@ -0,0 +1,68 @@
+package jordanmarcelino.contact.util;
+
+import java.util.Objects;
+
+/**
+ * E.164-style normalization of user-entered phone numbers into country code plus subscriber digits,
+ * so that "+62 812-3456", "0062 8123456" and "0812 3456" all become {@code 628123456}. A leading
+ * {@code 0} is read as a trunk prefix and replaced with the default country code; numbers without any
+ * prefix are kept as they are.
+ */
+public final class PhoneNumbers {
+
+    private static final int MAX_DIGITS = 32;
+
+    private PhoneNumbers() {
+    }
+
+    /**
+     * Returns null when {@code phone} has no digits.
+     */
+    public static String normalize(String phone, String defaultCountryCode) {
+        String digits = digits(phone);
+        if (digits.isEmpty()) {
+            return null;
+        }
+
+        String normalized;
+        if (isInternational(phone)) {
+            normalized = digits.startsWith("00") ? digits.substring(2) : digits;
+        } else if (digits.startsWith("0")) {
+            normalized = defaultCountryCode + digits.substring(1);
+        } else {
+            normalized = digits;
+        }
+        return normalized.length() > MAX_DIGITS ? normalized.substring(0, MAX_DIGITS) : normalized;
+    }
+
+    public static String reverse(String digits) {
+        return Objects.isNull(digits) ? null : new StringBuilder(digits).reverse().toString();
+    }
+
+    public static String digits(String phone) {
+        if (Objects.isNull(phone)) {
+            return "";
+        }
+
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    /**
+     * Whether the number carries its own prefix, {@code +}, {@code 00} or a trunk {@code 0}, and so
+     * normalizes to a known start of the stored digits.
+     */
+    public static boolean isQualified(String phone) {
+        return isInternational(phone) || digits(phone).startsWith("0");
+    }
+
+    private static boolean isInternational(String phone) {
+        return phone.strip().startsWith("+") || digits(phone).startsWith("00");
+    }
+}
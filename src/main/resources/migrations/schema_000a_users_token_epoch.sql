@@ -0,0 +1,2 @@
+-- Bumped on logout to revoke every signed token of the user at once.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_epoch BIGINT DEFAULT 0 NOT NULL;
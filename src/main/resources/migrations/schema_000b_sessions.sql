@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS sessions
+(
+    id           BIGSERIAL PRIMARY KEY,
+    user_id      BIGINT REFERENCES users (id) ON DELETE CASCADE NOT NULL,
+    token_hash   VARCHAR(64)                                  NOT NULL,
+    expired_at   BIGINT                                       NOT NULL,
+    refreshed_at BIGINT                                       NOT NULL,
+    created_at   TIMESTAMP                                    NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS sessions_token_hash_idx ON sessions (token_hash);
+CREATE INDEX IF NOT EXISTS sessions_user_id_idx ON sessions (user_id);
+CREATE INDEX IF NOT EXISTS sessions_expired_at_idx ON sessions (expired_at);
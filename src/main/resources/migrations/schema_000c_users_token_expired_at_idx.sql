@@ -0,0 +1,2 @@
+-- Lets the expired token sweep find its batches without scanning every user.
+CREATE INDEX IF NOT EXISTS users_token_expired_at_idx ON users (token_expired_at) WHERE token IS NOT NULL;
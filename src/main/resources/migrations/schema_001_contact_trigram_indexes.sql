@@ -0,0 +1,8 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS contacts_user_id_idx ON contacts (user_id);
+
+CREATE INDEX IF NOT EXISTS contacts_first_name_trgm_idx ON contacts USING GIN (lower(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS contacts_last_name_trgm_idx ON contacts USING GIN (lower(last_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS contacts_email_trgm_idx ON contacts USING GIN (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS contacts_phone_trgm_idx ON contacts USING GIN (lower(phone) gin_trgm_ops);
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS contacts_user_id_id_idx ON contacts (user_id, id);
+
+DROP INDEX IF EXISTS contacts_user_id_idx;
@@ -0,0 +1,73 @@
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+ALTER TABLE contacts ADD COLUMN IF NOT EXISTS search_vector TSVECTOR DEFAULT ''::TSVECTOR NOT NULL;
+
+CREATE INDEX IF NOT EXISTS addresses_contact_id_idx ON addresses (contact_id);
+
+-- Names weigh most, then email and phone, then addresses. Email and phone are also split on
+-- punctuation so that prefix queries match their parts, e.g. 'doe:*' or '812:*'.
+CREATE OR REPLACE FUNCTION contact_search_vector(p_contact_id BIGINT, p_first_name TEXT, p_last_name TEXT,
+                                                 p_email TEXT, p_phone TEXT)
+    RETURNS TSVECTOR
+    LANGUAGE sql
+    STABLE
+AS
+$$
+SELECT setweight(to_tsvector('simple', concat_ws(' ', p_first_name, p_last_name)), 'A')
+           || setweight(to_tsvector('simple', coalesce(regexp_replace(p_email, '[^[:alnum:]]+', ' ', 'g'), '')), 'B')
+           || setweight(to_tsvector('simple', concat_ws(' ', regexp_replace(p_phone, '\D', '', 'g'),
+                                                        regexp_replace(p_phone, '\D+', ' ', 'g'))), 'B')
+           || setweight(to_tsvector('simple', coalesce((SELECT string_agg(concat_ws(' ', a.street, a.city, a.country), ' ')
+                                                         FROM addresses a
+                                                         WHERE a.contact_id = p_contact_id), '')), 'C')
+$$;
+
+CREATE OR REPLACE FUNCTION contacts_search_vector_trigger()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    NEW.search_vector := contact_search_vector(NEW.id, NEW.first_name, NEW.last_name, NEW.email, NEW.phone);
+    RETURN NEW;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION addresses_search_vector_trigger()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS
+$$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        UPDATE contacts c
+        SET search_vector = contact_search_vector(c.id, c.first_name, c.last_name, c.email, c.phone)
+        WHERE c.id = OLD.contact_id;
+    END IF;
+    IF TG_OP = 'INSERT' OR (TG_OP = 'UPDATE' AND NEW.contact_id <> OLD.contact_id) THEN
+        UPDATE contacts c
+        SET search_vector = contact_search_vector(c.id, c.first_name, c.last_name, c.email, c.phone)
+        WHERE c.id = NEW.contact_id;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS contacts_search_vector_update ON contacts;
+CREATE TRIGGER contacts_search_vector_update
+    BEFORE INSERT OR UPDATE OF first_name, last_name, email, phone
+    ON contacts
+    FOR EACH ROW
+EXECUTE FUNCTION contacts_search_vector_trigger();
+
+DROP TRIGGER IF EXISTS addresses_search_vector_update ON addresses;
+CREATE TRIGGER addresses_search_vector_update
+    AFTER INSERT OR UPDATE OF contact_id, street, city, country OR DELETE
+    ON addresses
+    FOR EACH ROW
+EXECUTE FUNCTION addresses_search_vector_trigger();
+
+UPDATE contacts
+SET search_vector = contact_search_vector(id, first_name, last_name, email, phone);
+
+CREATE INDEX IF NOT EXISTS contacts_user_id_search_vector_idx ON contacts USING GIN (user_id, search_vector);
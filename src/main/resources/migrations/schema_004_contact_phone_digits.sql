@@ -0,0 +1,22 @@
+-- "C" collation keeps digit strings in byte order, so prefix searches are plain B-tree range scans.
+ALTER TABLE contacts ADD COLUMN IF NOT EXISTS phone_digits VARCHAR(32) COLLATE "C";
+ALTER TABLE contacts ADD COLUMN IF NOT EXISTS phone_digits_reversed VARCHAR(32) COLLATE "C";
+
+-- Same rules as PhoneNumbers.normalize with the default app.contact.phone.default-country-code.
+UPDATE contacts c
+SET phone_digits          = normalized.digits,
+    phone_digits_reversed = reverse(normalized.digits)
+FROM (SELECT id,
+             left(CASE
+                      WHEN raw = '' THEN NULL
+                      WHEN btrim(phone) LIKE '+%' THEN raw
+                      WHEN raw LIKE '00%' THEN substr(raw, 3)
+                      WHEN raw LIKE '0%' THEN '62' || substr(raw, 2)
+                      ELSE raw
+                      END, 32) AS digits
+      FROM (SELECT id, phone, regexp_replace(coalesce(phone, ''), '\D', '', 'g') AS raw
+            FROM contacts) phones) normalized
+WHERE c.id = normalized.id;
+
+CREATE INDEX IF NOT EXISTS contacts_user_id_phone_digits_idx ON contacts (user_id, phone_digits);
+CREATE INDEX IF NOT EXISTS contacts_user_id_phone_digits_reversed_idx ON contacts (user_id, phone_digits_reversed);
@@ -0,0 +1,10 @@
+-- Double Metaphone keys of first_name and last_name, computed by NamePhonetics on every write. NULL
+-- means not computed yet; ContactPhoneticBackfill fills existing rows in batches.
+ALTER TABLE contacts ADD COLUMN IF NOT EXISTS first_name_phonetic VARCHAR(16);
+ALTER TABLE contacts ADD COLUMN IF NOT EXISTS last_name_phonetic VARCHAR(16);
+
+CREATE INDEX IF NOT EXISTS contacts_user_id_first_name_phonetic_idx ON contacts (user_id, first_name_phonetic);
+CREATE INDEX IF NOT EXISTS contacts_user_id_last_name_phonetic_idx ON contacts (user_id, last_name_phonetic);
+
+-- Rows still waiting for the backfill; empty once it has caught up.
+CREATE INDEX IF NOT EXISTS contacts_phonetic_pending_idx ON contacts (id) WHERE first_name_phonetic IS NULL;
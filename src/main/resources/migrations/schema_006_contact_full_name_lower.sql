@@ -0,0 +1,13 @@
+-- Lower-cased "first last" kept by PostgreSQL itself, so one index serves a name search instead of a
+-- BitmapOr over lower(first_name) and lower(last_name). Adding a stored column rewrites the table.
+ALTER TABLE contacts
+    ADD COLUMN IF NOT EXISTS full_name_lower TEXT
+        GENERATED ALWAYS AS (lower(first_name || coalesce(' ' || last_name, ''))) STORED;
+
+-- Infix: full_name_lower LIKE '%term%'.
+CREATE INDEX IF NOT EXISTS contacts_user_id_full_name_lower_trgm_idx
+    ON contacts USING GIN (user_id, full_name_lower gin_trgm_ops);
+
+-- Prefix: full_name_lower LIKE 'term%', a range scan whatever the database collation.
+CREATE INDEX IF NOT EXISTS contacts_user_id_full_name_lower_idx
+    ON contacts (user_id, full_name_lower text_pattern_ops);
@@ -0,0 +1,2 @@
+-- levenshtein_less_equal for the fuzzy name search that runs when the name dictionary is not available.
+CREATE EXTENSION IF NOT EXISTS fuzzystrmatch;
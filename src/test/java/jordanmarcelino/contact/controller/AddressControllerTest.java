@@ -5,10 +5,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.Cookie;
 import jakarta.validation.ConstraintViolationException;
 import jordanmarcelino.contact.dto.*;
-import jordanmarcelino.contact.entity.User;
 import jordanmarcelino.contact.exception.NotFoundException;
 import jordanmarcelino.contact.repository.AddressRepository;
 import jordanmarcelino.contact.repository.UserRepository;
+import jordanmarcelino.contact.security.AuthenticatedUser;
 import jordanmarcelino.contact.service.AddressService;
 import jordanmarcelino.contact.util.Message;
 import org.hibernate.sql.Update;
@@ -58,13 +58,10 @@ class AddressControllerTest {
 
     @BeforeEach
     void setUp() {
-        User user = new User();
-        user.setId(1L);
-        user.setUsername("test");
-        user.setName("test");
-        user.setTokenExpiredAt(Instant.now().plus(Duration.ofDays(1L)).toEpochMilli());
+        AuthenticatedUser user = new AuthenticatedUser(1L, "test", "test",
+                Instant.now().plus(Duration.ofDays(1L)).toEpochMilli());
 
-        when(userRepository.findByToken(anyString()))
+        when(userRepository.findPrincipalByToken(anyString()))
                 .thenReturn(Optional.of(user));
         apiKey = new Cookie("X-API-KEY", "test");
     }
@@ -128,7 +125,7 @@ class AddressControllerTest {
             assertNotNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(addressService, times(1)).save(any(CreateAddressRequest.class));
     }
 
@@ -172,7 +169,7 @@ class AddressControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(addressService, times(1)).save(any(CreateAddressRequest.class));
     }
 
@@ -235,7 +232,7 @@ class AddressControllerTest {
             assertNotNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(addressService, times(1)).update(any(UpdateAddressRequest.class));
     }
 
@@ -271,7 +268,7 @@ class AddressControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(addressService, times(1)).update(any(UpdateAddressRequest.class));
     }
 
@@ -315,7 +312,7 @@ class AddressControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(addressService, times(1)).update(any(UpdateAddressRequest.class));
     }
 
@@ -424,7 +421,7 @@ class AddressControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(addressService, times(1)).get(any(GetAddressRequest.class));
     }
 
@@ -459,7 +456,7 @@ class AddressControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(addressService, times(1)).get(any(GetAddressRequest.class));
     }
 
@@ -504,7 +501,7 @@ class AddressControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(addressService, times(1)).findAll(any(GetAddressRequest.class));
     }
 
@@ -542,7 +539,7 @@ class AddressControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(addressService, times(1)).findAll(any(GetAddressRequest.class));
     }
 }
@@ -5,10 +5,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.Cookie;
 import jakarta.validation.ConstraintViolationException;
 import jordanmarcelino.contact.dto.*;
-import jordanmarcelino.contact.entity.User;
 import jordanmarcelino.contact.exception.LoginFailedException;
+import jordanmarcelino.contact.exception.ServiceUnavailableException;
 import jordanmarcelino.contact.exception.UserAlreadyRegisteredException;
 import jordanmarcelino.contact.repository.UserRepository;
+import jordanmarcelino.contact.security.AuthenticatedUser;
 import jordanmarcelino.contact.service.AuthService;
 import jordanmarcelino.contact.util.Message;
 import org.junit.jupiter.api.Test;
@@ -16,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -26,8 +28,10 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -180,6 +184,35 @@ class AuthControllerTest {
         verify(authService, times(1)).login(request);
     }
 
+    @Test
+    void testLoginServiceUnavailable() throws Exception {
+        when(authService.login(any(UserLoginRequest.class)))
+                .thenThrow(new ServiceUnavailableException(Duration.ofSeconds(2L)));
+
+        UserLoginRequest request = new UserLoginRequest("test", "test");
+        mockMvc.perform(
+                post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+        ).andExpectAll(
+                status().isServiceUnavailable(),
+                header().string(HttpHeaders.RETRY_AFTER, "2")
+        ).andDo(result -> {
+            WebResponse<Object> response = objectMapper.readValue(
+                    result.getResponse().getContentAsString(),
+                    new TypeReference<>() {
+                    }
+            );
+
+            assertNotNull(response.getMessage());
+            assertNull(response.getData());
+            assertNull(response.getErrors());
+        });
+
+        verify(authService, times(1)).login(request);
+    }
+
     @Test
     void testLoginSuccess() throws Exception {
         Token wantRes = new Token(UUID.randomUUID().toString(), Instant.now().toEpochMilli());
@@ -214,9 +247,9 @@ class AuthControllerTest {
 
     @Test
     void testLogoutUnauthorized() throws Exception {
-        when(userRepository.findByToken(anyString()))
+        when(userRepository.findPrincipalByToken(anyString()))
                 .thenReturn(Optional.empty());
-        doNothing().when(authService).logout(any(User.class));
+        doNothing().when(authService).logout(any(AuthenticatedUser.class), anyString());
 
         Cookie apiKey = new Cookie("X-API-KEY", "none");
         mockMvc.perform(
@@ -236,21 +269,18 @@ class AuthControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
-        verify(authService, times(0)).logout(any(User.class));
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
+        verify(authService, times(0)).logout(any(AuthenticatedUser.class), anyString());
     }
 
     @Test
     void testLogoutSuccess() throws Exception {
-        User user = new User();
-        user.setId(1L);
-        user.setUsername("test");
-        user.setName("test");
-        user.setTokenExpiredAt(Instant.now().plus(Duration.ofDays(1L)).toEpochMilli());
+        AuthenticatedUser user = new AuthenticatedUser(1L, "test", "test",
+                Instant.now().plus(Duration.ofDays(1L)).toEpochMilli());
 
-        when(userRepository.findByToken(anyString()))
+        when(userRepository.findPrincipalByToken(anyString()))
                 .thenReturn(Optional.of(user));
-        doNothing().when(authService).logout(any(User.class));
+        doNothing().when(authService).logout(any(AuthenticatedUser.class), anyString());
 
         Cookie apiKey = new Cookie("X-API-KEY", UUID.randomUUID().toString());
         mockMvc.perform(
@@ -270,7 +300,7 @@ class AuthControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
-        verify(authService, times(1)).logout(any(User.class));
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
+        verify(authService, times(1)).logout(any(AuthenticatedUser.class), anyString());
     }
 }
\ No newline at end of file
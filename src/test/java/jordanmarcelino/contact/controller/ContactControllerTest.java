@@ -5,9 +5,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.Cookie;
 import jakarta.validation.ConstraintViolationException;
 import jordanmarcelino.contact.dto.*;
-import jordanmarcelino.contact.entity.User;
+import jordanmarcelino.contact.exception.InvalidCursorException;
+import jordanmarcelino.contact.exception.InvalidSearchException;
 import jordanmarcelino.contact.exception.NotFoundException;
 import jordanmarcelino.contact.repository.UserRepository;
+import jordanmarcelino.contact.search.ContactCursor;
+import jordanmarcelino.contact.search.EstimatedPage;
+import jordanmarcelino.contact.security.AuthenticatedUser;
 import jordanmarcelino.contact.service.ContactService;
 import jordanmarcelino.contact.util.Message;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,7 +22,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Window;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -55,13 +61,10 @@ class ContactControllerTest {
 
     @BeforeEach
     void setUp() {
-        User user = new User();
-        user.setId(1L);
-        user.setUsername("test");
-        user.setName("test");
-        user.setTokenExpiredAt(Instant.now().plus(Duration.ofDays(1L)).toEpochMilli());
+        AuthenticatedUser user = new AuthenticatedUser(1L, "test", "test",
+                Instant.now().plus(Duration.ofDays(1L)).toEpochMilli());
 
-        when(userRepository.findByToken(anyString()))
+        when(userRepository.findPrincipalByToken(anyString()))
                 .thenReturn(Optional.of(user));
         apiKey = new Cookie("X-API-KEY", "test");
     }
@@ -116,7 +119,7 @@ class ContactControllerTest {
             assertNotNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
     }
 
     @Test
@@ -147,7 +150,7 @@ class ContactControllerTest {
             assertEquals(wantRes, response.getData());
             assertNull(response.getErrors());
         });
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(contactService, times(1)).save(any(CreateContactRequest.class));
     }
 
@@ -192,7 +195,7 @@ class ContactControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(contactService, times(1)).get(any(GetContactRequest.class));
     }
 
@@ -226,7 +229,7 @@ class ContactControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(contactService, times(1)).get(any(GetContactRequest.class));
     }
 
@@ -287,7 +290,7 @@ class ContactControllerTest {
             assertNotNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(contactService, times(1)).update(any(UpdateContactRequest.class));
     }
 
@@ -321,7 +324,7 @@ class ContactControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(contactService, times(1)).update(any(UpdateContactRequest.class));
     }
 
@@ -363,7 +366,7 @@ class ContactControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(contactService, times(1)).update(any(UpdateContactRequest.class));
     }
 
@@ -407,7 +410,7 @@ class ContactControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(contactService, times(1)).delete(any(DeleteContactRequest.class));
     }
 
@@ -433,7 +436,7 @@ class ContactControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(contactService, times(1)).delete(any(DeleteContactRequest.class));
     }
 
@@ -480,7 +483,7 @@ class ContactControllerTest {
             assertNotNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(contactService, times(1)).search(any(SearchContactRequest.class));
     }
 
@@ -527,7 +530,311 @@ class ContactControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
         verify(contactService, times(1)).search(any(SearchContactRequest.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSearchContactWithoutTotal() throws Exception {
+        List<ContactResponse> dummyContacts = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            dummyContacts.add(new ContactResponse(Integer.toUnsignedLong(i), "jordan", "jor", "jordan@gmail.com",
+                    "08124125310"));
+        }
+        when(contactService.search(any(SearchContactRequest.class)))
+                .thenReturn(new SliceImpl<>(dummyContacts, PageRequest.of(0, 10), true));
+
+        mockMvc.perform(
+                get("/api/contacts")
+                        .queryParam("name", "jo")
+                        .queryParam("total", "none")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .cookie(apiKey)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            WebResponse<List<ContactResponse>> response = objectMapper.readValue(
+                    result.getResponse().getContentAsString(),
+                    new TypeReference<>() {
+                    }
+            );
+
+            assertEquals(dummyContacts, response.getData());
+            assertTrue(response.getPaging().isHasNext());
+            assertNull(response.getPaging().getTotalPage());
+            assertNull(response.getPaging().getTotal());
+        });
+
+        verify(contactService, times(1)).search(any(SearchContactRequest.class));
+    }
+
+    @Test
+    void testSearchContactEstimatedTotal() throws Exception {
+        List<ContactResponse> dummyContacts = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            dummyContacts.add(new ContactResponse(Integer.toUnsignedLong(i), "jordan", "jor", "jordan@gmail.com",
+                    "08124125310"));
+        }
+        when(contactService.search(any(SearchContactRequest.class)))
+                .thenReturn(new EstimatedPage<>(dummyContacts, PageRequest.of(0, 10), 10_000L));
+
+        mockMvc.perform(
+                get("/api/contacts")
+                        .queryParam("name", "jo")
+                        .queryParam("total", "estimate")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .cookie(apiKey)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            WebResponse<List<ContactResponse>> response = objectMapper.readValue(
+                    result.getResponse().getContentAsString(),
+                    new TypeReference<>() {
+                    }
+            );
+
+            assertEquals(dummyContacts, response.getData());
+            assertTrue(response.getPaging().isHasNext());
+            assertEquals("10000+", response.getPaging().getTotal());
+            assertNull(response.getPaging().getTotalPage());
+        });
+
+        verify(contactService, times(1)).search(argThat(request -> "estimate".equals(request.getTotal())));
+    }
+
+    @Test
+    void testSearchContactFuzzy() throws Exception {
+        List<ContactResponse> dummyContacts = List.of(
+                new ContactResponse(1L, "Jordan", "Marcelino", "jordan@gmail.com", "08124125310")
+        );
+        when(contactService.search(any(SearchContactRequest.class)))
+                .thenReturn(new PageImpl<>(dummyContacts, PageRequest.of(0, 10), 1L));
+
+        mockMvc.perform(
+                get("/api/contacts")
+                        .queryParam("name", "jordna")
+                        .queryParam("fuzzy", "true")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .cookie(apiKey)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            WebResponse<List<ContactResponse>> response = objectMapper.readValue(
+                    result.getResponse().getContentAsString(),
+                    new TypeReference<>() {
+                    }
+            );
+
+            assertEquals(dummyContacts, response.getData());
+            assertEquals("1", response.getPaging().getTotal());
+        });
+
+        verify(contactService, times(1)).search(argThat(request ->
+                Boolean.TRUE.equals(request.getFuzzy()) && "jordna".equals(request.getName())));
+    }
+
+    @Test
+    void testSearchContactFuzzyWithEmailBadRequest() throws Exception {
+        when(contactService.search(any(SearchContactRequest.class)))
+                .thenThrow(new InvalidSearchException(
+                        "fuzzy name search can't be combined with cursor, email or phone"));
+
+        mockMvc.perform(
+                get("/api/contacts")
+                        .queryParam("name", "jordna")
+                        .queryParam("email", "gmail")
+                        .queryParam("fuzzy", "true")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .cookie(apiKey)
+        ).andExpectAll(
+                status().isBadRequest()
+        ).andDo(result -> {
+            WebResponse<List<ContactResponse>> response = objectMapper.readValue(
+                    result.getResponse().getContentAsString(),
+                    new TypeReference<>() {
+                    }
+            );
+
+            assertNull(response.getData());
+            assertNotNull(response.getMessage());
+        });
+    }
+
+    @Test
+    void testSearchContactFuzzyWithCursorBadRequest() throws Exception {
+        when(contactService.scroll(any(SearchContactRequest.class)))
+                .thenThrow(new InvalidSearchException(
+                        "fuzzy name search can't be combined with cursor, email or phone"));
+
+        mockMvc.perform(
+                get("/api/contacts")
+                        .queryParam("name", "jordna")
+                        .queryParam("fuzzy", "true")
+                        .queryParam("cursor", "")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .cookie(apiKey)
+        ).andExpectAll(
+                status().isBadRequest()
+        );
+
+        verify(contactService, times(1)).scroll(argThat(request ->
+                Boolean.TRUE.equals(request.getFuzzy()) && "".equals(request.getCursor())));
+        verify(contactService, never()).search(any(SearchContactRequest.class));
+    }
+
+    @Test
+    void testSearchContactQueryWithFilterBadRequest() throws Exception {
+        when(contactService.scroll(any(SearchContactRequest.class)))
+                .thenThrow(new InvalidSearchException(
+                        "q can't be combined with cursor, name, email, phone, fuzzy or phonetic"));
+
+        mockMvc.perform(
+                get("/api/contacts")
+                        .queryParam("q", "jordan")
+                        .queryParam("name", "budi")
+                        .queryParam("cursor", "")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .cookie(apiKey)
+        ).andExpectAll(
+                status().isBadRequest()
+        ).andDo(result -> {
+            WebResponse<List<ContactResponse>> response = objectMapper.readValue(
+                    result.getResponse().getContentAsString(),
+                    new TypeReference<>() {
+                    }
+            );
+
+            assertNull(response.getData());
+            assertNotNull(response.getMessage());
+        });
+
+        verify(contactService, times(1)).scroll(argThat(request ->
+                "jordan".equals(request.getQ()) && "budi".equals(request.getName())));
+        verify(contactService, never()).search(any(SearchContactRequest.class));
+    }
+
+    @Test
+    void testSearchContactCursor() throws Exception {
+        List<ContactResponse> dummyContacts = List.of(
+                new ContactResponse(3L, "Jordan", "Marcelino", "jordan@gmail.com", "08124125310"),
+                new ContactResponse(7L, "Jordan", "Santoso", "jordan@yahoo.com", "08124125311")
+        );
+        when(contactService.scroll(any(SearchContactRequest.class)))
+                .thenReturn(Window.from(dummyContacts,
+                        index -> ContactCursor.position(dummyContacts.get(index).getId()), true));
+
+        mockMvc.perform(
+                get("/api/contacts")
+                        .queryParam("name", "jordan")
+                        .queryParam("cursor", "")
+                        .queryParam("page", "3")
+                        .queryParam("size", "2")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .cookie(apiKey)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            WebResponse<List<ContactResponse>> response = objectMapper.readValue(
+                    result.getResponse().getContentAsString(),
+                    new TypeReference<>() {
+                    }
+            );
+
+            assertEquals(dummyContacts, response.getData());
+            assertTrue(response.getPaging().isHasNext());
+            assertEquals(ContactCursor.encode(ContactCursor.position(7L)), response.getPaging().getNextCursor());
+            assertNull(response.getPaging().getTotalPage());
+            assertNull(response.getPaging().getTotal());
+        });
+
+        verify(contactService, times(1)).scroll(argThat(request -> "".equals(request.getCursor())));
+        verify(contactService, never()).search(any(SearchContactRequest.class));
+    }
+
+    @Test
+    void testSearchContactCursorLastWindow() throws Exception {
+        List<ContactResponse> dummyContacts = List.of(
+                new ContactResponse(9L, "Jordan", "Marcelino", "jordan@gmail.com", "08124125310")
+        );
+        when(contactService.scroll(any(SearchContactRequest.class)))
+                .thenReturn(Window.from(dummyContacts,
+                        index -> ContactCursor.position(dummyContacts.get(index).getId()), false));
+
+        mockMvc.perform(
+                get("/api/contacts")
+                        .queryParam("cursor", ContactCursor.encode(ContactCursor.position(7L)))
+                        .queryParam("size", "2")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .cookie(apiKey)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            WebResponse<List<ContactResponse>> response = objectMapper.readValue(
+                    result.getResponse().getContentAsString(),
+                    new TypeReference<>() {
+                    }
+            );
+
+            assertEquals(dummyContacts, response.getData());
+            assertFalse(response.getPaging().isHasNext());
+            assertNull(response.getPaging().getNextCursor());
+        });
+    }
+
+    @Test
+    void testSearchContactMalformedCursor() throws Exception {
+        when(contactService.scroll(any(SearchContactRequest.class)))
+                .thenThrow(new InvalidCursorException());
+
+        mockMvc.perform(
+                get("/api/contacts")
+                        .queryParam("cursor", "!!!")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .cookie(apiKey)
+        ).andExpectAll(
+                status().isBadRequest()
+        ).andDo(result -> {
+            WebResponse<List<ContactResponse>> response = objectMapper.readValue(
+                    result.getResponse().getContentAsString(),
+                    new TypeReference<>() {
+                    }
+            );
+
+            assertNull(response.getData());
+            assertNull(response.getPaging());
+        });
+    }
+
+    @Test
+    void testAutocompleteContactSuccess() throws Exception {
+        List<ContactSuggestionResponse> wantRes = List.of(
+                new ContactSuggestionResponse(1L, "Jordan", "Marcelino"),
+                new ContactSuggestionResponse(2L, "Joseph", null)
+        );
+        when(contactService.autocomplete(any(AutocompleteContactRequest.class)))
+                .thenReturn(wantRes);
+
+        mockMvc.perform(
+                get("/api/contacts/autocomplete")
+                        .queryParam("prefix", "jo")
+                        .queryParam("limit", "5")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .cookie(apiKey)
+        ).andExpectAll(
+                status().isOk()
+        ).andDo(result -> {
+            WebResponse<List<ContactSuggestionResponse>> response = objectMapper.readValue(
+                    result.getResponse().getContentAsString(),
+                    new TypeReference<>() {
+                    }
+            );
+
+            assertEquals(Message.SUCCESS, response.getMessage());
+            assertEquals(wantRes, response.getData());
+            assertNull(response.getErrors());
+        });
+
+        verify(contactService, times(1)).autocomplete(any(AutocompleteContactRequest.class));
+        verify(contactService, times(0)).get(any(GetContactRequest.class));
+    }
+}
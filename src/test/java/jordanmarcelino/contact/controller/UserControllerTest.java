@@ -7,8 +7,8 @@ import jakarta.validation.ConstraintViolationException;
 import jordanmarcelino.contact.dto.UpdateUserRequest;
 import jordanmarcelino.contact.dto.UserResponse;
 import jordanmarcelino.contact.dto.WebResponse;
-import jordanmarcelino.contact.entity.User;
 import jordanmarcelino.contact.repository.UserRepository;
+import jordanmarcelino.contact.security.AuthenticatedUser;
 import jordanmarcelino.contact.service.UserService;
 import jordanmarcelino.contact.util.Message;
 import org.junit.jupiter.api.BeforeEach;
@@ -56,7 +56,7 @@ class UserControllerTest {
 
     @Test
     void testGetProfileUnauthorized() throws Exception {
-        when(userService.get(any(User.class)))
+        when(userService.get(any(AuthenticatedUser.class)))
                 .thenReturn(new UserResponse());
 
         mockMvc.perform(
@@ -75,12 +75,12 @@ class UserControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userService, times(0)).get(any(User.class));
+        verify(userService, times(0)).get(any(AuthenticatedUser.class));
     }
 
     @Test
     void testGetProfileTokenInvalid() throws Exception {
-        when(userService.get(any(User.class)))
+        when(userService.get(any(AuthenticatedUser.class)))
                 .thenReturn(new UserResponse());
 
         mockMvc.perform(
@@ -100,21 +100,18 @@ class UserControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userService, times(0)).get(any(User.class));
+        verify(userService, times(0)).get(any(AuthenticatedUser.class));
     }
 
     @Test
     void testGetProfileSuccess() throws Exception {
         UserResponse wantRes = new UserResponse(1L, "test", "test");
 
-        User user = new User();
-        user.setId(1L);
-        user.setUsername("test");
-        user.setName("test");
-        user.setTokenExpiredAt(Instant.now().plus(Duration.ofDays(1L)).toEpochMilli());
-        when(userRepository.findByToken(anyString())).thenReturn(Optional.of(user));
+        AuthenticatedUser user = new AuthenticatedUser(1L, "test", "test",
+                Instant.now().plus(Duration.ofDays(1L)).toEpochMilli());
+        when(userRepository.findPrincipalByToken(anyString())).thenReturn(Optional.of(user));
 
-        when(userService.get(any(User.class)))
+        when(userService.get(any(AuthenticatedUser.class)))
                 .thenReturn(wantRes);
 
         mockMvc.perform(
@@ -134,13 +131,13 @@ class UserControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
-        verify(userService, times(1)).get(any(User.class));
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
+        verify(userService, times(1)).get(any(AuthenticatedUser.class));
     }
 
     @Test
     void testUpdateProfileUnauthorized() throws Exception {
-        when(userService.update(any(User.class), any(UpdateUserRequest.class)))
+        when(userService.update(any(AuthenticatedUser.class), any(UpdateUserRequest.class)))
                 .thenReturn(new UserResponse());
 
         UpdateUserRequest request = new UpdateUserRequest();
@@ -164,20 +161,17 @@ class UserControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userService, times(0)).update(any(User.class), any(UpdateUserRequest.class));
+        verify(userService, times(0)).update(any(AuthenticatedUser.class), any(UpdateUserRequest.class));
     }
 
     @Test
     void testUpdateProfileBadRequest() throws Exception {
-        User user = new User();
-        user.setId(1L);
-        user.setUsername("test");
-        user.setName("test");
-        user.setTokenExpiredAt(Instant.now().plus(Duration.ofDays(1L)).toEpochMilli());
+        AuthenticatedUser user = new AuthenticatedUser(1L, "test", "test",
+                Instant.now().plus(Duration.ofDays(1L)).toEpochMilli());
 
-        when(userRepository.findByToken(anyString()))
+        when(userRepository.findPrincipalByToken(anyString()))
                 .thenReturn(Optional.of(user));
-        when(userService.update(any(User.class), any(UpdateUserRequest.class)))
+        when(userService.update(any(AuthenticatedUser.class), any(UpdateUserRequest.class)))
                 .thenThrow(ConstraintViolationException.class);
 
         UpdateUserRequest request = new UpdateUserRequest();
@@ -203,22 +197,19 @@ class UserControllerTest {
             assertNotNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
-        verify(userService, times(1)).update(any(User.class), any(UpdateUserRequest.class));
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
+        verify(userService, times(1)).update(any(AuthenticatedUser.class), any(UpdateUserRequest.class));
     }
 
     @Test
     void testUpdateProfileSuccess() throws Exception {
-        User user = new User();
-        user.setId(1L);
-        user.setUsername("test");
-        user.setName("test");
-        user.setTokenExpiredAt(Instant.now().plus(Duration.ofDays(1L)).toEpochMilli());
+        AuthenticatedUser user = new AuthenticatedUser(1L, "test", "test",
+                Instant.now().plus(Duration.ofDays(1L)).toEpochMilli());
 
         UserResponse wantRes = new UserResponse(1L, "test", "new test");
-        when(userRepository.findByToken(anyString()))
+        when(userRepository.findPrincipalByToken(anyString()))
                 .thenReturn(Optional.of(user));
-        when(userService.update(any(User.class), any(UpdateUserRequest.class)))
+        when(userService.update(any(AuthenticatedUser.class), any(UpdateUserRequest.class)))
                 .thenReturn(wantRes);
 
         UpdateUserRequest request = new UpdateUserRequest();
@@ -244,7 +235,7 @@ class UserControllerTest {
             assertNull(response.getErrors());
         });
 
-        verify(userRepository, times(1)).findByToken(anyString());
-        verify(userService, times(1)).update(any(User.class), any(UpdateUserRequest.class));
+        verify(userRepository, times(1)).findPrincipalByToken(anyString());
+        verify(userService, times(1)).update(any(AuthenticatedUser.class), any(UpdateUserRequest.class));
     }
 }
\ No newline at end of file
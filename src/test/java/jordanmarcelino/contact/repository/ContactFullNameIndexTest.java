@@ -0,0 +1,91 @@
+package jordanmarcelino.contact.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.contact.phonetic.backfill-enabled=false")
+class ContactFullNameIndexTest {
+
+    private static final int CONTACTS = 20_000;
+
+    private static final String NAME_QUERY =
+            "select id from contacts where user_id = ? and full_name_lower like ? escape '\\'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = jdbcTemplate.queryForObject("""
+                insert into users (username, name, hash_password, created_at, updated_at)
+                values (?, 'full name index', 'x', now(), now())
+                returning id
+                """, Long.class, "full-name-" + UUID.randomUUID());
+        jdbcTemplate.update("""
+                insert into contacts (user_id, first_name, last_name, created_at, updated_at)
+                select ?, 'First' || i, 'Last' || i, now(), now() from generate_series(1, ?) i
+                """, userId, CONTACTS);
+        jdbcTemplate.update("""
+                insert into contacts (user_id, first_name, last_name, created_at, updated_at)
+                values (?, 'Jordan', 'Marcelino', now(), now()), (?, 'Solo', null, now(), now())
+                """, userId, userId);
+        jdbcTemplate.execute("analyze contacts");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from contacts where user_id = ?", userId);
+        jdbcTemplate.update("delete from users where id = ?", userId);
+    }
+
+    @Test
+    void testGeneratedColumn() {
+        List<String> names = jdbcTemplate.queryForList("""
+                select full_name_lower from contacts
+                where user_id = ? and first_name in ('Jordan', 'Solo') order by first_name
+                """, String.class, userId);
+
+        assertEquals(List.of("jordan marcelino", "solo"), names);
+    }
+
+    @Test
+    void testInfixUsesTrigramIndex() {
+        String pattern = "%" + ContactSpecifications.escape("marcelino") + "%";
+
+        assertEquals(1, jdbcTemplate.queryForList(NAME_QUERY, Long.class, userId, pattern).size());
+        assertPlanUses("contacts_user_id_full_name_lower_trgm_idx", pattern);
+    }
+
+    @Test
+    void testPrefixUsesBTreeIndex() {
+        String pattern = ContactSpecifications.escape("jordan m") + "%";
+
+        assertEquals(1, jdbcTemplate.queryForList(NAME_QUERY, Long.class, userId, pattern).size());
+        assertPlanUses("contacts_user_id_full_name_lower_idx", pattern);
+    }
+
+    private void assertPlanUses(String index, String pattern) {
+        List<String> plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("set local enable_seqscan = off");
+            return jdbcTemplate.queryForList("explain " + NAME_QUERY, String.class, userId, pattern);
+        });
+
+        assertNotNull(plan);
+        assertTrue(plan.stream().anyMatch(line -> line.contains(" " + index)), String.join("\n", plan));
+    }
+}
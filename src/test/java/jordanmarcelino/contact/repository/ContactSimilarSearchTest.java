@@ -0,0 +1,83 @@
+package jordanmarcelino.contact.repository;
+
+import jordanmarcelino.contact.dto.ContactResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The database fallback of fuzzy search must answer like {@code ContactNameDictionary.fuzzy}, so these
+ * cases mirror {@code ContactNameDictionaryTest}.
+ */
+@SpringBootTest(properties = "app.contact.phonetic.backfill-enabled=false")
+class ContactSimilarSearchTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5L);
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = jdbcTemplate.queryForObject("""
+                insert into users (username, name, hash_password, created_at, updated_at)
+                values (?, 'similar search', 'x', now(), now())
+                returning id
+                """, Long.class, "similar-" + UUID.randomUUID());
+        jdbcTemplate.update("""
+                insert into contacts (user_id, first_name, last_name, created_at, updated_at)
+                values (?, 'Jordan', 'Marcelino', now(), now()), (?, 'Budi', 'Santoso', now(), now()),
+                       (?, 'Mark', 'Jordanson', now(), now()), (?, 'Marko', null, now(), now()),
+                       (?, 'Siti-Aisyah', 'Putri', now(), now())
+                """, userId, userId, userId, userId, userId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from contacts where user_id = ?", userId);
+        jdbcTemplate.update("delete from users where id = ?", userId);
+    }
+
+    @Test
+    void testEveryWordWithinDistance() {
+        assertEquals(List.of("Jordan"), similar("jordna"));
+        assertEquals(List.of("Budi"), similar("budy", "santosa"));
+        assertEquals(List.of("Siti-Aisyah"), similar("aisya"));
+        assertEquals(List.of(), similar("jordna", "santoso"));
+        assertEquals(List.of(), similar("mark", "santoso"));
+    }
+
+    @Test
+    void testClosestFirst() {
+        assertEquals(List.of("Mark", "Marko"), similar("mark"));
+        assertEquals(List.of("Marko", "Mark"), similar("marko"));
+    }
+
+    @Test
+    void testCount() {
+        assertEquals(2L, contactRepository.countSimilar(userId, List.of("mark"), TIMEOUT));
+        assertEquals(2L, contactRepository.countSimilarUpTo(userId, List.of("mark"), 5, TIMEOUT));
+        assertEquals(2L, contactRepository.countSimilarUpTo(userId, List.of("mark"), 1, TIMEOUT));
+        assertEquals(0L, contactRepository.countSimilar(userId, List.of("xyz"), TIMEOUT));
+    }
+
+    private List<String> similar(String... words) {
+        return contactRepository.findSimilar(userId, List.of(words), 0L, 10, TIMEOUT).stream()
+                .map(ContactResponse::getFirstName)
+                .toList();
+    }
+}
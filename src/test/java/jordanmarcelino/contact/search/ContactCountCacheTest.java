@@ -0,0 +1,119 @@
+package jordanmarcelino.contact.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jordanmarcelino.contact.config.ContactSearchProperties;
+import jordanmarcelino.contact.dto.SearchContactRequest;
+import jordanmarcelino.contact.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactCountCacheTest {
+
+    private static final AuthenticatedUser USER = new AuthenticatedUser(1L, "test", "test", Long.MAX_VALUE);
+
+    private static final AuthenticatedUser OTHER = new AuthenticatedUser(2L, "other", "other", Long.MAX_VALUE);
+
+    private ContactSearchProperties properties;
+
+    private ContactVersions versions;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ContactCountCache cache;
+
+    private final AtomicInteger counts = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        properties = new ContactSearchProperties();
+        versions = new ContactVersions();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ContactCountCache(properties, versions, meterRegistry);
+    }
+
+    @Test
+    void testHitWhileVersionUnchanged() {
+        assertEquals(10L, cache.get(request(USER, "jordan"), () -> count(10L)));
+        assertEquals(10L, cache.get(request(USER, "jordan"), () -> count(20L)));
+
+        assertEquals(1, counts.get());
+        assertEquals(Optional.of(10L), cache.peek(request(USER, "jordan")));
+        assertEquals(1.0, meterRegistry.get("contact.search.count.cache.hits").counter().count());
+        assertEquals(1.0, meterRegistry.get("contact.search.count.cache.misses").counter().count());
+    }
+
+    @Test
+    void testMissAfterVersionBump() {
+        cache.get(request(USER, "jordan"), () -> count(10L));
+        cache.get(request(OTHER, "jordan"), () -> count(5L));
+
+        versions.bumpAfterCommit(USER.id());
+
+        assertEquals(Optional.empty(), cache.peek(request(USER, "jordan")));
+        assertEquals(11L, cache.get(request(USER, "jordan"), () -> count(11L)));
+        assertEquals(5L, cache.get(request(OTHER, "jordan"), () -> count(6L)));
+        assertEquals(3, counts.get());
+    }
+
+    @Test
+    void testMissForOtherFilter() {
+        cache.get(request(USER, "jordan"), () -> count(10L));
+
+        assertEquals(3L, cache.get(request(USER, "budi"), () -> count(3L)));
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    void testHitForSameFilterInOtherCase() {
+        cache.get(request(USER, "Jordan"), () -> count(10L));
+
+        assertEquals(10L, cache.get(request(USER, "jordan"), () -> count(20L)));
+        assertEquals(1, counts.get());
+    }
+
+    @Test
+    void testCaseIsKeptForLikeBackend() {
+        properties.setBackend(SearchBackend.LIKE);
+        cache.get(request(USER, "Jordan"), () -> count(10L));
+
+        assertEquals(20L, cache.get(request(USER, "jordan"), () -> count(20L)));
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    void testMissAfterTtl() {
+        properties.setCountCacheTtl(Duration.ZERO);
+
+        cache.get(request(USER, "jordan"), () -> count(10L));
+
+        assertEquals(Optional.empty(), cache.peek(request(USER, "jordan")));
+        assertEquals(12L, cache.get(request(USER, "jordan"), () -> count(12L)));
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    void testShrinksToMaxSize() {
+        properties.setCountCacheMaxSize(2);
+
+        cache.get(request(USER, "a"), () -> count(1L));
+        cache.get(request(USER, "b"), () -> count(2L));
+        cache.get(request(USER, "c"), () -> count(3L));
+
+        assertEquals(2.0, meterRegistry.get("contact.search.count.cache.size").gauge().value());
+    }
+
+    private long count(long total) {
+        counts.incrementAndGet();
+        return total;
+    }
+
+    private static SearchContactRequest request(AuthenticatedUser user, String name) {
+        return SearchContactRequest.builder().user(user).name(name).build();
+    }
+}
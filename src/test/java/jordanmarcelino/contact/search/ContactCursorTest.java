@@ -0,0 +1,48 @@
+package jordanmarcelino.contact.search;
+
+import jordanmarcelino.contact.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactCursorTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        for (long id : new long[]{1L, 42L, Long.MAX_VALUE}) {
+            String cursor = ContactCursor.encode(ContactCursor.position(id));
+
+            assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+            assertEquals(Optional.of(id), ContactCursor.lastId(ContactCursor.decode(cursor)));
+        }
+    }
+
+    @Test
+    void testEmptyCursorStartsFromBeginning() {
+        for (String cursor : new String[]{null, ""}) {
+            KeysetScrollPosition position = ContactCursor.decode(cursor);
+
+            assertTrue(position.isInitial());
+            assertEquals(Optional.empty(), ContactCursor.lastId(position));
+        }
+    }
+
+    @Test
+    void testMalformedCursorIsBadRequest() {
+        for (String cursor : new String[]{"!!!", "a", encode("abc"), encode("99999999999999999999")}) {
+            InvalidCursorException exception = assertThrows(InvalidCursorException.class,
+                    () -> ContactCursor.decode(cursor), cursor);
+            assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        }
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}
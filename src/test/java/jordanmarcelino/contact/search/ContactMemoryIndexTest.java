@@ -0,0 +1,156 @@
+package jordanmarcelino.contact.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jordanmarcelino.contact.config.ContactSearchProperties;
+import jordanmarcelino.contact.config.PhoneProperties;
+import jordanmarcelino.contact.dto.SearchContactRequest;
+import jordanmarcelino.contact.entity.Contact;
+import jordanmarcelino.contact.security.AuthenticatedUser;
+import jordanmarcelino.contact.util.PhoneNumbers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ContactMemoryIndexTest {
+
+    private static final AuthenticatedUser USER = new AuthenticatedUser(1L, "test", "test", Long.MAX_VALUE);
+
+    private static final Instant LOADED_AT = Instant.parse("2024-01-01T00:00:00Z");
+
+    private ContactSearchProperties properties;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ContactMemoryIndex index;
+
+    private final List<ResultSet> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new ContactSearchProperties();
+        properties.setBackend(SearchBackend.MEMORY);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet row : rows) {
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        index = new ContactMemoryIndex(properties, new PhoneProperties(), jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry());
+
+        row(contact(1L, "Jordan", "Marcelino", "jordan@gmail.com", "08124125310", LOADED_AT));
+        row(contact(2L, "Budi", "Santoso", "budi@yahoo.com", null, LOADED_AT));
+        row(contact(3L, "Solo", null, null, "021-9876543", LOADED_AT));
+    }
+
+    @Test
+    void testSearchMatchesEveryFilter() {
+        assertArrayEquals(new long[]{1L}, search("jordan m", null, null));
+        assertArrayEquals(new long[]{2L}, search("SANTO", null, null));
+        assertArrayEquals(new long[]{1L}, search("ma", null, null));
+        assertArrayEquals(new long[]{3L}, search("solo", null, null));
+        assertArrayEquals(new long[]{1L}, search(null, "gmail", null));
+        assertArrayEquals(new long[]{1L}, search("o", "@", "0812"));
+        assertArrayEquals(new long[0], search("jordan", "yahoo", null));
+        assertArrayEquals(new long[0], search("xyz", null, null));
+        assertArrayEquals(new long[]{1L, 2L, 3L}, search(null, null, null));
+
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void testPhoneMatchesLikeDatabase() {
+        assertArrayEquals(new long[]{1L}, search(null, null, "+62 812"));
+        assertArrayEquals(new long[]{1L}, search(null, null, "0062812"));
+        assertArrayEquals(new long[]{3L}, search(null, null, "021 98"));
+        assertArrayEquals(new long[]{1L}, search(null, null, "812412"));
+        assertArrayEquals(new long[]{1L}, search(null, null, "628124"));
+        assertArrayEquals(new long[]{1L}, search(null, null, "5310"));
+        assertArrayEquals(new long[]{3L}, search(null, null, "76543"));
+        assertArrayEquals(new long[0], search(null, null, "4125"));
+        assertArrayEquals(new long[0], search(null, null, "+1 812"));
+        assertArrayEquals(new long[]{3L}, search(null, null, "-"));
+    }
+
+    @Test
+    void testWritesAfterLoad() {
+        search(null, null, null);
+
+        index.indexAfterCommit(USER.id(), contact(4L, "Jordana", null, null, null, Instant.now()));
+        assertArrayEquals(new long[]{1L, 4L}, search("jordan", null, null));
+
+        index.indexAfterCommit(USER.id(), contact(1L, "Joe", "Marcelino", null, null, Instant.now()));
+        assertArrayEquals(new long[]{4L}, search("jordan", null, null));
+        assertArrayEquals(new long[]{1L}, search("joe marc", null, null));
+        assertArrayEquals(new long[0], search(null, "gmail", null));
+
+        index.indexAfterCommit(USER.id(), contact(2L, "Stale", null, null, null, LOADED_AT.minusSeconds(60L)));
+        assertArrayEquals(new long[0], search("stale", null, null));
+
+        index.removeAfterCommit(USER.id(), 1L);
+        assertArrayEquals(new long[0], search("marcelino", null, null));
+    }
+
+    @Test
+    void testDisabledForOtherBackends() {
+        properties.setBackend(SearchBackend.TRIGRAM);
+
+        assertEquals(Optional.empty(), index.search(request(USER)));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private long[] search(String name, String email, String phone) {
+        SearchContactRequest request = request(USER);
+        request.setName(name);
+        request.setEmail(email);
+        request.setPhone(phone);
+        return index.search(request).orElseThrow();
+    }
+
+    private static SearchContactRequest request(AuthenticatedUser user) {
+        return SearchContactRequest.builder().user(user).build();
+    }
+
+    private void row(Contact contact) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(contact.getId());
+        when(resultSet.getString(2)).thenReturn(contact.getFirstName());
+        when(resultSet.getString(3)).thenReturn(contact.getLastName());
+        when(resultSet.getString(4)).thenReturn(contact.getEmail());
+        when(resultSet.getString(5)).thenReturn(contact.getPhone());
+        when(resultSet.getString(6)).thenReturn(contact.getPhoneDigits());
+        when(resultSet.getTimestamp(7)).thenReturn(Timestamp.from(contact.getUpdatedAt()));
+        rows.add(resultSet);
+    }
+
+    private static Contact contact(Long id, String firstName, String lastName, String email, String phone,
+                                   Instant updatedAt) {
+        Contact contact = new Contact();
+        contact.setId(id);
+        contact.setFirstName(firstName);
+        contact.setLastName(lastName);
+        contact.setEmail(email);
+        contact.setPhone(phone);
+        contact.setPhoneDigits(PhoneNumbers.normalize(phone, new PhoneProperties().getDefaultCountryCode()));
+        contact.setUpdatedAt(updatedAt);
+        return contact;
+    }
+}
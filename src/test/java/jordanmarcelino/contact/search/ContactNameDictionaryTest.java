@@ -0,0 +1,143 @@
+package jordanmarcelino.contact.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jordanmarcelino.contact.config.ContactAutocompleteProperties;
+import jordanmarcelino.contact.dto.ContactSuggestionResponse;
+import jordanmarcelino.contact.entity.Contact;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ContactNameDictionaryTest {
+
+    private static final Long USER_ID = 1L;
+
+    private static final Instant LOADED_AT = Instant.parse("2024-01-01T00:00:00Z");
+
+    private ContactAutocompleteProperties properties;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ContactNameDictionary dictionary;
+
+    private final List<ResultSet> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new ContactAutocompleteProperties();
+        jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet row : rows) {
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        dictionary = new ContactNameDictionary(properties, jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry());
+
+        row(contact(1L, "Jordan", "Marcelino", LOADED_AT));
+        row(contact(2L, "Budi", "Santoso", LOADED_AT));
+        row(contact(3L, "Mark", "Jordanson", LOADED_AT));
+        row(contact(4L, "Solo", null, LOADED_AT));
+    }
+
+    @Test
+    void testCompleteInNameOrderOncePerContact() {
+        assertEquals(List.of(1L, 3L), complete("jor", 10));
+        assertEquals(List.of(1L, 3L), complete("mar", 10));
+        assertEquals(List.of(1L, 3L), complete(" JOR ", 10));
+        assertEquals(List.of(1L), complete("mar", 1));
+        assertEquals(List.of(1L), complete("jordan m", 10));
+        assertEquals(List.of(3L), complete("mark j", 10));
+        assertEquals(List.of(4L), complete("solo", 10));
+        assertEquals(List.of(), complete("x", 10));
+
+        assertEquals(List.of(new ContactSuggestionResponse(2L, "Budi", "Santoso")),
+                dictionary.complete(USER_ID, "santo", 10).orElseThrow());
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void testFuzzyClosestFirst() {
+        assertArrayEquals(new long[]{1L}, fuzzy("jordna"));
+        assertArrayEquals(new long[]{2L}, fuzzy("budy", "santosa"));
+        assertArrayEquals(new long[0], fuzzy("jordna", "santoso"));
+
+        dictionary.indexAfterCommit(USER_ID, contact(5L, "Marko", null, Instant.now()));
+        assertArrayEquals(new long[]{3L, 5L}, fuzzy("mark"));
+        assertArrayEquals(new long[]{5L, 3L}, fuzzy("marko"));
+    }
+
+    @Test
+    void testWritesAfterLoad() {
+        complete("jor", 10);
+
+        dictionary.indexAfterCommit(USER_ID, contact(5L, "Jordy", null, Instant.now()));
+        assertEquals(List.of(1L, 3L, 5L), complete("jor", 10));
+
+        dictionary.indexAfterCommit(USER_ID, contact(1L, "Joe", "Marcelino", Instant.now()));
+        assertEquals(List.of(3L, 5L), complete("jor", 10));
+        assertEquals(List.of(1L), complete("joe m", 10));
+        assertArrayEquals(new long[0], fuzzy("jordan", "marcelino"));
+
+        dictionary.indexAfterCommit(USER_ID, contact(2L, "Stale", null, LOADED_AT.minusSeconds(60L)));
+        assertEquals(List.of(), complete("stale", 10));
+
+        dictionary.removeAfterCommit(USER_ID, 3L);
+        assertEquals(List.of(5L), complete("jor", 10));
+        assertEquals(List.of(1L), complete("mar", 10));
+    }
+
+    @Test
+    void testDisabled() {
+        properties.setEnabled(false);
+
+        assertEquals(Optional.empty(), dictionary.complete(USER_ID, "jor", 10));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private List<Long> complete(String prefix, int limit) {
+        return dictionary.complete(USER_ID, prefix, limit).orElseThrow().stream()
+                .map(ContactSuggestionResponse::getId)
+                .toList();
+    }
+
+    private long[] fuzzy(String... words) {
+        return dictionary.fuzzy(USER_ID, List.of(words)).orElseThrow();
+    }
+
+    private void row(Contact contact) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(contact.getId());
+        when(resultSet.getString(2)).thenReturn(contact.getFirstName());
+        when(resultSet.getString(3)).thenReturn(contact.getLastName());
+        when(resultSet.getTimestamp(4)).thenReturn(Timestamp.from(contact.getUpdatedAt()));
+        rows.add(resultSet);
+    }
+
+    private static Contact contact(Long id, String firstName, String lastName, Instant updatedAt) {
+        Contact contact = new Contact();
+        contact.setId(id);
+        contact.setFirstName(firstName);
+        contact.setLastName(lastName);
+        contact.setUpdatedAt(updatedAt);
+        return contact;
+    }
+}
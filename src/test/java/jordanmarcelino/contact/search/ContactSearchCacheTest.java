@@ -0,0 +1,179 @@
+package jordanmarcelino.contact.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jordanmarcelino.contact.config.ContactSearchProperties;
+import jordanmarcelino.contact.dto.ContactResponse;
+import jordanmarcelino.contact.dto.SearchContactRequest;
+import jordanmarcelino.contact.exception.ServiceUnavailableException;
+import jordanmarcelino.contact.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactSearchCacheTest {
+
+    private static final AuthenticatedUser USER = new AuthenticatedUser(1L, "test", "test", Long.MAX_VALUE);
+
+    private ContactSearchProperties properties;
+
+    private ContactVersions versions;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ContactSearchExecutor searchExecutor;
+
+    private ContactSearchCache cache;
+
+    private AtomicInteger searches;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ContactSearchProperties();
+        versions = new ContactVersions();
+        meterRegistry = new SimpleMeterRegistry();
+        searchExecutor = new ContactSearchExecutor(properties, meterRegistry);
+        cache = new ContactSearchCache(properties, versions, searchExecutor, meterRegistry);
+        searches = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchExecutor.shutdown();
+    }
+
+    @Test
+    void testIdenticalSearchIsServedFromCache() {
+        Slice<ContactResponse> first = cache.get(request("Jordan"), this::search);
+        Slice<ContactResponse> second = cache.get(request("jordan"), this::search);
+
+        assertSame(first, second);
+        assertEquals(1, searches.get());
+    }
+
+    @Test
+    void testCaseIsKeptForLikeBackend() {
+        properties.setBackend(SearchBackend.LIKE);
+
+        cache.get(request("Jordan"), this::search);
+        cache.get(request("jordan"), this::search);
+
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    void testWriteInvalidatesUserEntries() {
+        cache.get(request("jordan"), this::search);
+        versions.bumpAfterCommit(USER.id());
+        cache.get(request("jordan"), this::search);
+
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    void testMemoryCapEvictsLeastRecentlyUsed() {
+        properties.setResultCacheMaxSize(DataSize.ofBytes(1_200L));
+
+        cache.get(request("a"), this::search);
+        cache.get(request("b"), this::search);
+        cache.get(request("a"), this::search);
+        cache.get(request("c"), this::search);
+        cache.get(request("a"), this::search);
+        cache.get(request("b"), this::search);
+
+        assertEquals(4, searches.get());
+    }
+
+    @Test
+    void testConcurrentMissesRunOneSearch() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Slice<ContactResponse>> leader = executor.submit(() -> cache.get(request("jordan"), () -> {
+                started.countDown();
+                await(release);
+                return search();
+            }));
+            assertTrue(started.await(5L, TimeUnit.SECONDS));
+
+            List<Future<Slice<ContactResponse>>> followers = List.of(
+                    executor.submit(() -> cache.get(request("jordan"), this::search)),
+                    executor.submit(() -> cache.get(request("jordan"), this::search))
+            );
+            Thread.sleep(100L);
+            release.countDown();
+
+            Slice<ContactResponse> result = leader.get(5L, TimeUnit.SECONDS);
+            for (Future<Slice<ContactResponse>> follower : followers) {
+                assertSame(result, follower.get(5L, TimeUnit.SECONDS));
+            }
+            assertEquals(1, searches.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFollowerPastDeadlineIsServiceUnavailable() throws Exception {
+        properties.setDeadline(Duration.ofMillis(50L));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Slice<ContactResponse>> leader = executor.submit(() -> cache.get(request("jordan"), () -> {
+                started.countDown();
+                await(release);
+                return search();
+            }));
+            assertTrue(started.await(5L, TimeUnit.SECONDS));
+
+            assertThrows(ServiceUnavailableException.class, () -> cache.get(request("jordan"), this::search));
+            assertEquals(1.0, meterRegistry.get("contact.search.deadline.exceeded").counter().count());
+
+            release.countDown();
+            leader.get(5L, TimeUnit.SECONDS);
+            assertEquals(1, searches.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Slice<ContactResponse> search() {
+        searches.incrementAndGet();
+        return new PageImpl<>(List.of(new ContactResponse(1L, "Jordan", "Marcelino", "jordan@gmail.com",
+                "08124125310")), PageRequest.of(0, 10), 1L);
+    }
+
+    private static SearchContactRequest request(String name) {
+        return SearchContactRequest.builder()
+                .user(USER)
+                .name(name)
+                .page(0)
+                .size(10)
+                .total("exact")
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5L, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
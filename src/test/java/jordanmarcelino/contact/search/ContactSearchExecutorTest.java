@@ -0,0 +1,175 @@
+package jordanmarcelino.contact.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jordanmarcelino.contact.config.ContactSearchProperties;
+import jordanmarcelino.contact.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactSearchExecutorTest {
+
+    private static final Pageable PAGEABLE = PageRequest.of(0, 10);
+
+    private static final List<Long> CONTENT = LongStream.rangeClosed(1L, 10L).boxed().toList();
+
+    private ContactSearchProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ContactSearchExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ContactSearchProperties();
+        properties.setDeadline(Duration.ofSeconds(2L));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testSequentialCountRunsOnRequestThread() {
+        executor = executor(false, 1);
+        AtomicReference<Thread> countThread = new AtomicReference<>();
+
+        Page<Long> page = executor.page(PAGEABLE, timeout -> CONTENT, timeout -> {
+            countThread.set(Thread.currentThread());
+            return 42L;
+        });
+
+        assertEquals(CONTENT, page.getContent());
+        assertEquals(42L, page.getTotalElements());
+        assertSame(Thread.currentThread(), countThread.get());
+        assertEquals(1L, timer("sequential"));
+        assertEquals(0L, timer("parallel"));
+    }
+
+    @Test
+    void testParallelCountRunsOnOwnThread() {
+        executor = executor(true, 1);
+        AtomicReference<Thread> countThread = new AtomicReference<>();
+
+        Page<Long> page = executor.page(PAGEABLE, timeout -> CONTENT, timeout -> {
+            countThread.set(Thread.currentThread());
+            return 42L;
+        });
+
+        assertEquals(42L, page.getTotalElements());
+        assertNotSame(Thread.currentThread(), countThread.get());
+        assertTrue(countThread.get().isVirtual());
+        assertEquals(0L, timer("sequential"));
+        assertEquals(1L, timer("parallel"));
+    }
+
+    @Test
+    void testSequentialWhenPermitsExhausted() {
+        executor = executor(true, 1);
+        AtomicReference<Thread> innerCountThread = new AtomicReference<>();
+
+        executor.page(PAGEABLE, timeout -> executor.page(PAGEABLE, inner -> CONTENT, inner -> {
+            innerCountThread.set(Thread.currentThread());
+            return 1L;
+        }).getContent(), timeout -> 1L);
+
+        assertSame(Thread.currentThread(), innerCountThread.get());
+        assertEquals(1L, timer("sequential"));
+        assertEquals(1L, timer("parallel"));
+    }
+
+    @Test
+    void testCountPastDeadlineIsServiceUnavailable() {
+        properties.setDeadline(Duration.ofMillis(50L));
+        executor = executor(true, 1);
+
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> executor.page(PAGEABLE, timeout -> CONTENT, timeout -> {
+                    sleep(Duration.ofSeconds(5L));
+                    return 1L;
+                }));
+
+        assertServiceUnavailable(exception);
+    }
+
+    @Test
+    void testCountTimeoutIsServiceUnavailable() {
+        executor = executor(false, 1);
+
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> executor.page(PAGEABLE, timeout -> CONTENT, timeout -> {
+                    throw new QueryTimeoutException("canceling statement due to statement timeout");
+                }));
+
+        assertServiceUnavailable(exception);
+    }
+
+    @Test
+    void testRunSharesOneDeadline() {
+        properties.setDeadline(Duration.ofMillis(50L));
+        executor = executor(false, 1);
+
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> executor.run(remaining -> {
+                    assertTrue(remaining.get().compareTo(Duration.ofMillis(50L)) <= 0);
+                    sleep(Duration.ofMillis(100L));
+                    return remaining.get();
+                }));
+
+        assertServiceUnavailable(exception);
+    }
+
+    @Test
+    void testRunTimeoutIsServiceUnavailable() {
+        executor = executor(false, 1);
+
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> executor.run(remaining -> {
+                    throw new QueryTimeoutException("canceling statement due to statement timeout");
+                }));
+
+        assertServiceUnavailable(exception);
+    }
+
+    private ContactSearchExecutor executor(boolean parallelCount, int maxConcurrency) {
+        properties.setParallelCount(parallelCount);
+        properties.setParallelCountMaxConcurrency(maxConcurrency);
+        return new ContactSearchExecutor(properties, meterRegistry);
+    }
+
+    private void assertServiceUnavailable(ServiceUnavailableException exception) {
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        assertEquals(String.valueOf(Math.max(1L, properties.getDeadline().toSeconds())),
+                exception.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, meterRegistry.get("contact.search.deadline.exceeded").counter().count());
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long timer(String execution) {
+        return meterRegistry.get("contact.search.exact.duration").tag("execution", execution).timer().count();
+    }
+}
@@ -0,0 +1,31 @@
+package jordanmarcelino.contact.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ContactTextQueryTest {
+
+    @Test
+    void testPrefixQuery() {
+        assertEquals(Optional.of("jo:* & sm:*"), ContactTextQuery.prefixQuery("Jo Sm"));
+        assertEquals(Optional.of("jakarta:*"), ContactTextQuery.prefixQuery("  Jakarta  "));
+        assertEquals(Optional.of("62:* & 812:*"), ContactTextQuery.prefixQuery("+62 812-"));
+        assertEquals(Optional.of("siti:* & müller:*"), ContactTextQuery.prefixQuery("Siti Müller"));
+    }
+
+    @Test
+    void testPrefixQueryStripsOperators() {
+        assertEquals(Optional.of("a:* & b:*"), ContactTextQuery.prefixQuery("a & !b | (a:*)"));
+        assertEquals(Optional.of("o:* & neil:*"), ContactTextQuery.prefixQuery("o'neil"));
+    }
+
+    @Test
+    void testPrefixQueryWithoutTerms() {
+        assertEquals(Optional.empty(), ContactTextQuery.prefixQuery(null));
+        assertEquals(Optional.empty(), ContactTextQuery.prefixQuery(""));
+        assertEquals(Optional.empty(), ContactTextQuery.prefixQuery("&|!:*()"));
+    }
+}
@@ -0,0 +1,177 @@
+package jordanmarcelino.contact.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerUserCacheTest {
+
+    private static final Long USER_ID = 1L;
+
+    private static final long ENTRY_BYTES = 10L;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PerUserCache<Names, String> cache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private boolean enabled = true;
+
+    private DataSize memoryBudget = DataSize.ofMegabytes(1L);
+
+    private Duration oversizedRetryInterval = Duration.ofMinutes(10L);
+
+    private Runnable duringLoad = () -> {
+    };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new PerUserCache<>("test.names", () -> enabled, () -> memoryBudget, () -> oversizedRetryInterval,
+                this::load, meterRegistry);
+    }
+
+    @Test
+    void testLoadsOnFirstReadOnly() {
+        assertEquals(Optional.of(List.of("jordan", "budi")), names(USER_ID));
+        assertEquals(Optional.of(List.of("jordan", "budi")), names(USER_ID));
+
+        assertEquals(1, loads.get());
+        assertEquals(2.0 * ENTRY_BYTES, meterRegistry.get("test.names.bytes").gauge().value());
+    }
+
+    @Test
+    void testWritesAfterLoad() {
+        names(USER_ID);
+
+        cache.putAfterCommit(USER_ID, 3L, "mark");
+        cache.putAfterCommit(USER_ID, 1L, null);
+
+        assertEquals(Optional.of(List.of("budi", "mark")), names(USER_ID));
+        assertEquals(2.0 * ENTRY_BYTES, meterRegistry.get("test.names.bytes").gauge().value());
+    }
+
+    @Test
+    void testWritesBeforeLoadAreIgnored() {
+        cache.putAfterCommit(USER_ID, 3L, "mark");
+
+        assertEquals(Optional.of(List.of("jordan", "budi")), names(USER_ID));
+    }
+
+    @Test
+    void testWritesDuringLoadAreReplayed() {
+        duringLoad = () -> {
+            cache.putAfterCommit(USER_ID, 3L, "mark");
+            cache.putAfterCommit(USER_ID, 2L, null);
+        };
+
+        assertEquals(Optional.of(List.of("jordan", "mark")), names(USER_ID));
+    }
+
+    @Test
+    void testFailedLoadIsRetried() {
+        duringLoad = () -> {
+            throw new IllegalStateException("connection refused");
+        };
+        assertThrows(IllegalStateException.class, () -> names(USER_ID));
+
+        duringLoad = () -> {
+        };
+
+        assertEquals(Optional.of(List.of("jordan", "budi")), names(USER_ID));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testLeastRecentlyReadUserIsEvictedOverBudget() {
+        memoryBudget = DataSize.ofBytes(3L * ENTRY_BYTES);
+        names(USER_ID);
+
+        assertTrue(names(2L).isPresent());
+        assertEquals(1.0, meterRegistry.get("test.names.users").gauge().value());
+        assertEquals(1.0, meterRegistry.get("test.names.evictions").counter().count());
+
+        names(USER_ID);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testOversizedUserFallsBackUntilRetry() {
+        memoryBudget = DataSize.ofBytes(1L);
+
+        assertEquals(Optional.empty(), names(USER_ID));
+        assertEquals(Optional.empty(), names(USER_ID));
+        assertEquals(1, loads.get());
+        assertEquals(2.0, meterRegistry.get("test.names.fallbacks").counter().count());
+    }
+
+    @Test
+    void testOversizedUserIsRetriedAfterInterval() {
+        memoryBudget = DataSize.ofBytes(1L);
+        oversizedRetryInterval = Duration.ZERO;
+        assertEquals(Optional.empty(), names(USER_ID));
+
+        memoryBudget = DataSize.ofMegabytes(1L);
+
+        assertEquals(Optional.of(List.of("jordan", "budi")), names(USER_ID));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testDisabled() {
+        enabled = false;
+
+        assertEquals(Optional.empty(), names(USER_ID));
+        assertEquals(0, loads.get());
+    }
+
+    private Optional<List<String>> names(Long userId) {
+        return cache.read(userId, Names::values);
+    }
+
+    private Names load(Long userId) {
+        loads.incrementAndGet();
+        duringLoad.run();
+        Names names = new Names();
+        names.put(1L, "jordan");
+        names.put(2L, "budi");
+        return names;
+    }
+
+    private static final class Names implements PerUserCache.UserData<String> {
+
+        private final Map<Long, String> names = new TreeMap<>();
+
+        @Override
+        public long put(long contactId, String name) {
+            String previous = Objects.isNull(name) ? names.remove(contactId) : names.put(contactId, name);
+            return (Objects.isNull(name) ? 0L : ENTRY_BYTES) - (Objects.isNull(previous) ? 0L : ENTRY_BYTES);
+        }
+
+        @Override
+        public int size() {
+            return names.size();
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return ENTRY_BYTES * names.size();
+        }
+
+        private List<String> values() {
+            return List.copyOf(names.values());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package jordanmarcelino.contact.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jordanmarcelino.contact.config.PasswordPolicyProperties;
+import jordanmarcelino.contact.util.BCrypt;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashPolicyTest {
+
+    @Test
+    void testCostOf() {
+        assertEquals(4, PasswordHashPolicy.costOf(BCrypt.hashpw("supersecret", BCrypt.gensalt(4))));
+        assertEquals(10, PasswordHashPolicy.costOf("$2a$10$CCCCCCCCCCCCCCCCCCCCC."));
+        assertEquals(12, PasswordHashPolicy.costOf("$2y$12$CCCCCCCCCCCCCCCCCCCCC."));
+        assertEquals(5, PasswordHashPolicy.costOf("$2$05$CCCCCCCCCCCCCCCCCCCCC."));
+    }
+
+    @Test
+    void testCostOfMalformedHash() {
+        assertEquals(-1, PasswordHashPolicy.costOf(""));
+        assertEquals(-1, PasswordHashPolicy.costOf("$2a$"));
+        assertEquals(-1, PasswordHashPolicy.costOf("$2a$xx$CCCCCCCCCCCCCCCCCCCCC."));
+        assertEquals(-1, PasswordHashPolicy.costOf("plaintext"));
+    }
+
+    @Test
+    void testNeedsRehashWhenCostDiffers() {
+        PasswordHashPolicy policy = policy(5, true);
+
+        assertEquals(5, policy.cost());
+        assertEquals(5, PasswordHashPolicy.costOf(policy.gensalt()));
+        assertFalse(policy.needsRehash("$2a$05$CCCCCCCCCCCCCCCCCCCCC."));
+        assertTrue(policy.needsRehash("$2a$04$CCCCCCCCCCCCCCCCCCCCC."));
+        assertTrue(policy.needsRehash("$2a$10$CCCCCCCCCCCCCCCCCCCCC."));
+    }
+
+    @Test
+    void testNeedsRehashDisabled() {
+        PasswordHashPolicy policy = policy(5, false);
+
+        assertFalse(policy.needsRehash("$2a$04$CCCCCCCCCCCCCCCCCCCCC."));
+        assertFalse(policy.needsRehash("$2a$10$CCCCCCCCCCCCCCCCCCCCC."));
+    }
+
+    static PasswordHashPolicy policy(int cost, boolean rehashOnLogin) {
+        PasswordPolicyProperties properties = new PasswordPolicyProperties();
+        properties.setFixedCost(cost);
+        properties.setRehashOnLogin(rehashOnLogin);
+        return new PasswordHashPolicy(properties, null, new SimpleMeterRegistry());
+    }
+}
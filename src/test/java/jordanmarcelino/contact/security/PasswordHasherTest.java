@@ -0,0 +1,81 @@
+package jordanmarcelino.contact.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jordanmarcelino.contact.config.PasswordHasherProperties;
+import jordanmarcelino.contact.exception.ServiceUnavailableException;
+import jordanmarcelino.contact.util.BCrypt;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private static final String PASSWORD = "supersecret";
+
+    private PasswordHasherProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PasswordHasherProperties();
+        properties.setThreads(1);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void testHashAndCheck() {
+        passwordHasher = new PasswordHasher(properties, PasswordHashPolicyTest.policy(4, true), meterRegistry);
+
+        String hashed = passwordHasher.hash(PASSWORD);
+
+        assertTrue(BCrypt.checkpw(PASSWORD, hashed));
+        assertTrue(passwordHasher.check(PASSWORD, hashed));
+        assertFalse(passwordHasher.check("other", hashed));
+    }
+
+    @Test
+    void testWaitPastTimeoutIsServiceUnavailable() {
+        properties.setTimeout(Duration.ofMillis(50L));
+        passwordHasher = new PasswordHasher(properties, PasswordHashPolicyTest.policy(14, true), meterRegistry);
+        passwordHasher.hashAsync(PASSWORD);
+
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> passwordHasher.check(PASSWORD, BCrypt.hashpw(PASSWORD, BCrypt.gensalt(4))));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        assertEquals("1", exception.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, meterRegistry.get("auth.password.hasher.timeouts").counter().count());
+    }
+
+    @Test
+    void testBackgroundHashSkippedOverThreshold() {
+        properties.setBackgroundQueueThreshold(0);
+        passwordHasher = new PasswordHasher(properties, PasswordHashPolicyTest.policy(4, true), meterRegistry);
+
+        CompletableFuture<String> result = passwordHasher.hashAsync(PASSWORD);
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> result.get(5L, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+        assertEquals(1.0, meterRegistry.get("auth.password.hasher.background.skipped").counter().count());
+        assertTrue(passwordHasher.check(PASSWORD, passwordHasher.hash(PASSWORD)));
+    }
+}
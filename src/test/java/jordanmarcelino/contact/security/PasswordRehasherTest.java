@@ -0,0 +1,130 @@
+package jordanmarcelino.contact.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jordanmarcelino.contact.config.PasswordHasherProperties;
+import jordanmarcelino.contact.config.PasswordPolicyProperties;
+import jordanmarcelino.contact.entity.User;
+import jordanmarcelino.contact.repository.UserRepository;
+import jordanmarcelino.contact.util.BCrypt;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PasswordRehasherTest {
+
+    private static final String PASSWORD = "supersecret";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserRepository userRepository;
+
+    private PasswordHasherProperties hasherProperties;
+
+    private PasswordHasher passwordHasher;
+
+    private PasswordRehasher rehasher;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userRepository = mock(UserRepository.class);
+        PasswordHashPolicy policy = PasswordHashPolicyTest.policy(5, true);
+        hasherProperties = new PasswordHasherProperties();
+        passwordHasher = new PasswordHasher(hasherProperties, policy, meterRegistry);
+        rehasher = new PasswordRehasher(policy, passwordHasher, userRepository, new PasswordPolicyProperties(),
+                meterRegistry);
+
+        user = new User();
+        user.setId(1L);
+        user.setPassword(BCrypt.hashpw(PASSWORD, BCrypt.gensalt(4)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        rehasher.shutdown();
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void testUpdatedOnWriterThread() throws Exception {
+        AtomicReference<String> writerThread = new AtomicReference<>();
+        AtomicReference<String> newHash = new AtomicReference<>();
+        when(userRepository.updatePassword(eq(1L), eq(user.getPassword()), anyString())).thenAnswer(invocation -> {
+            writerThread.set(Thread.currentThread().getName());
+            newHash.set(invocation.getArgument(2));
+            return 1;
+        });
+
+        rehasher.rehashIfNeeded(user, PASSWORD).get(5L, TimeUnit.SECONDS);
+
+        assertEquals(1.0, count("upgrade", "updated"));
+        assertTrue(writerThread.get().startsWith("password-rehash-"), writerThread.get());
+        assertEquals(5, PasswordHashPolicy.costOf(newHash.get()));
+        assertTrue(BCrypt.checkpw(PASSWORD, newHash.get()));
+    }
+
+    @Test
+    void testStaleWhenHashChangedMeanwhile() throws Exception {
+        when(userRepository.updatePassword(anyLong(), anyString(), anyString())).thenReturn(0);
+
+        rehasher.rehashIfNeeded(user, PASSWORD).get(5L, TimeUnit.SECONDS);
+
+        assertEquals(1.0, count("upgrade", "stale"));
+        assertEquals(0.0, count("upgrade", "updated"));
+    }
+
+    @Test
+    void testFailedWhenWriteThrows() throws Exception {
+        when(userRepository.updatePassword(anyLong(), anyString(), anyString()))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        rehasher.rehashIfNeeded(user, PASSWORD).get(5L, TimeUnit.SECONDS);
+
+        assertEquals(1.0, count("upgrade", "failed"));
+    }
+
+    @Test
+    void testSkippedWhileHasherBusy() throws Exception {
+        hasherProperties.setBackgroundQueueThreshold(0);
+
+        rehasher.rehashIfNeeded(user, PASSWORD).get(5L, TimeUnit.SECONDS);
+
+        assertEquals(1.0, count("upgrade", "skipped"));
+        assertEquals(0.0, count("upgrade", "failed"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testDowngrade() throws Exception {
+        user.setPassword(BCrypt.hashpw(PASSWORD, BCrypt.gensalt(6)));
+        when(userRepository.updatePassword(anyLong(), anyString(), anyString())).thenReturn(1);
+
+        rehasher.rehashIfNeeded(user, PASSWORD).get(5L, TimeUnit.SECONDS);
+
+        assertEquals(1.0, count("downgrade", "updated"));
+    }
+
+    @Test
+    void testCurrentCostIsLeftAlone() throws Exception {
+        user.setPassword(BCrypt.hashpw(PASSWORD, BCrypt.gensalt(5)));
+
+        rehasher.rehashIfNeeded(user, PASSWORD).get(5L, TimeUnit.SECONDS);
+
+        verifyNoInteractions(userRepository);
+        assertTrue(meterRegistry.find("auth.password.rehash").counters().isEmpty());
+    }
+
+    private double count(String direction, String outcome) {
+        return meterRegistry.counter("auth.password.rehash", "direction", direction, "outcome", outcome).count();
+    }
+}
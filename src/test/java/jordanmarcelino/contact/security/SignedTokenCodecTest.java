@@ -0,0 +1,82 @@
+package jordanmarcelino.contact.security;
+
+import jordanmarcelino.contact.config.TokenProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignedTokenCodecTest {
+
+    private static final SignedToken TOKEN = new SignedToken(42L, 1_900_000_000_000L, 3L);
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        SignedTokenCodec codec = codec("secret");
+
+        assertEquals(Optional.of(TOKEN), codec.decode(codec.encode(TOKEN)));
+    }
+
+    @Test
+    void testFlippedByteIsRejected() {
+        SignedTokenCodec codec = codec("secret");
+        String token = codec.encode(TOKEN);
+        int separator = token.indexOf('.');
+        byte[] payload = Base64.getUrlDecoder().decode(token.substring(0, separator));
+        byte[] signature = Base64.getUrlDecoder().decode(token.substring(separator + 1));
+
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] ^= 1;
+            assertTrue(codec.decode(encode(payload, signature)).isEmpty(), "payload byte " + i);
+            payload[i] ^= 1;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            signature[i] ^= 1;
+            assertTrue(codec.decode(encode(payload, signature)).isEmpty(), "signature byte " + i);
+            signature[i] ^= 1;
+        }
+        assertTrue(codec.decode(encode(payload, signature)).isPresent());
+    }
+
+    @Test
+    void testTokenSignedWithOtherSecretIsRejected() {
+        String token = codec("other-secret").encode(TOKEN);
+
+        assertTrue(codec("secret").decode(token).isEmpty());
+    }
+
+    @Test
+    void testMalformedTokenIsRejected() {
+        SignedTokenCodec codec = codec("secret");
+
+        assertTrue(codec.decode("").isEmpty());
+        assertTrue(codec.decode("no-separator").isEmpty());
+        assertTrue(codec.decode(".signature").isEmpty());
+        assertTrue(codec.decode("a.b.c").isEmpty());
+        assertTrue(codec.decode("!!!.???").isEmpty());
+        assertTrue(codec.decode("AAAA." + codec.encode(TOKEN).split("\\.")[1]).isEmpty());
+    }
+
+    @Test
+    void testSignedModeRequiresSecret() {
+        TokenProperties properties = new TokenProperties();
+        properties.setMode(TokenMode.SIGNED);
+        properties.setSecret(" ");
+
+        assertThrows(IllegalStateException.class, () -> new SignedTokenCodec(properties));
+    }
+
+    static SignedTokenCodec codec(String secret) {
+        TokenProperties properties = new TokenProperties();
+        properties.setMode(TokenMode.SIGNED);
+        properties.setSecret(secret);
+        return new SignedTokenCodec(properties);
+    }
+
+    private static String encode(byte[] payload, byte[] signature) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(signature);
+    }
+}
@@ -0,0 +1,119 @@
+package jordanmarcelino.contact.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jordanmarcelino.contact.config.TokenCacheProperties;
+import jordanmarcelino.contact.config.TokenFilterProperties;
+import jordanmarcelino.contact.config.TokenProperties;
+import jordanmarcelino.contact.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class TokenAuthenticatorTest {
+
+    private static final long USER_ID = 1L;
+
+    private TokenProperties properties;
+
+    private UserRepository userRepository;
+
+    private SignedTokenCodec codec;
+
+    private TokenAuthenticator authenticator;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TokenProperties();
+        properties.setMode(TokenMode.SIGNED);
+        properties.setSecret("secret");
+        userRepository = mock(UserRepository.class);
+        codec = new SignedTokenCodec(properties);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        authenticator = new TokenAuthenticator(
+                userRepository,
+                new TokenCache(new TokenCacheProperties(), meterRegistry),
+                codec,
+                properties,
+                new TokenFilter(new TokenFilterProperties(), null, null, meterRegistry),
+                new SessionStore(null, properties)
+        );
+        ownerHasEpoch(0L);
+    }
+
+    @Test
+    void testValidSignedTokenIsAccepted() {
+        long expiredAt = System.currentTimeMillis() + 60_000L;
+
+        Optional<AuthenticatedUser> user = authenticator.authenticate(token(expiredAt, 0L));
+
+        assertTrue(user.isPresent());
+        assertEquals(USER_ID, user.get().id());
+        assertEquals(expiredAt, user.get().tokenExpiredAt());
+    }
+
+    @Test
+    void testKnownEpochSkipsLookup() {
+        String token = token(System.currentTimeMillis() + 60_000L, 0L);
+
+        assertTrue(authenticator.authenticate(token).isPresent());
+        assertTrue(authenticator.authenticate(token).isPresent());
+
+        verify(userRepository, times(1)).findTokenOwnerById(USER_ID);
+    }
+
+    @Test
+    void testExpiredSignedTokenIsRejected() {
+        assertTrue(authenticator.authenticate(token(System.currentTimeMillis() - 1L, 0L)).isEmpty());
+
+        verify(userRepository, never()).findTokenOwnerById(anyLong());
+    }
+
+    @Test
+    void testOldEpochIsRejectedAfterLogout() {
+        String token = token(System.currentTimeMillis() + 60_000L, 0L);
+        assertTrue(authenticator.authenticate(token).isPresent());
+
+        ownerHasEpoch(1L);
+        authenticator.evictUser(USER_ID);
+
+        assertTrue(authenticator.authenticate(token).isEmpty());
+        assertTrue(authenticator.authenticate(token(System.currentTimeMillis() + 60_000L, 1L)).isPresent());
+    }
+
+    @Test
+    void testOldEpochIsRejectedOnceRevalidated() {
+        properties.setEpochRevalidateInterval(Duration.ZERO);
+        String token = token(System.currentTimeMillis() + 60_000L, 0L);
+        assertTrue(authenticator.authenticate(token).isPresent());
+
+        ownerHasEpoch(1L);
+
+        assertTrue(authenticator.authenticate(token).isEmpty());
+    }
+
+    @Test
+    void testTokenSignedWithOtherSecretIsRejected() {
+        String token = SignedTokenCodecTest.codec("other-secret")
+                .encode(new SignedToken(USER_ID, System.currentTimeMillis() + 60_000L, 0L));
+
+        assertTrue(authenticator.authenticate(token).isEmpty());
+
+        verify(userRepository, never()).findTokenOwnerById(anyLong());
+    }
+
+    private String token(long expiredAt, long epoch) {
+        return codec.encode(new SignedToken(USER_ID, expiredAt, epoch));
+    }
+
+    private void ownerHasEpoch(long epoch) {
+        when(userRepository.findTokenOwnerById(USER_ID))
+                .thenReturn(Optional.of(new TokenOwner(USER_ID, "test", "test", null, null, epoch)));
+    }
+}
@@ -0,0 +1,57 @@
+package jordanmarcelino.contact.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jordanmarcelino.contact.config.TokenCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenCacheTest {
+
+    private TokenCacheProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TokenCacheProperties();
+        properties.setEnabled(true);
+        properties.setMaxSize(2);
+        properties.setTtl(Duration.ofHours(1L));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TokenCache(properties, meterRegistry);
+    }
+
+    @Test
+    void testSoonestExpiringEvictedOverMaxSize() {
+        long now = System.currentTimeMillis();
+        cache.put("late", user(1L, now + 60_000L));
+        cache.put("soon", user(2L, now + 10_000L));
+        cache.put("later", user(3L, now + 120_000L));
+
+        assertTrue(cache.get("late").isPresent());
+        assertTrue(cache.get("soon").isEmpty());
+        assertTrue(cache.get("later").isPresent());
+        assertEquals(1.0, meterRegistry.get("auth.token.cache.evictions").tag("cause", "size").counter().count());
+    }
+
+    @Test
+    void testEntryNeverOutlivesToken() throws Exception {
+        cache.put("token", user(1L, System.currentTimeMillis() + 50L));
+        assertTrue(cache.get("token").isPresent());
+
+        Thread.sleep(100L);
+
+        assertTrue(cache.get("token").isEmpty());
+        assertEquals(1.0, meterRegistry.get("auth.token.cache.evictions").tag("cause", "expired").counter().count());
+    }
+
+    private static AuthenticatedUser user(Long id, long tokenExpiredAt) {
+        return new AuthenticatedUser(id, "user" + id, "user" + id, tokenExpiredAt);
+    }
+}
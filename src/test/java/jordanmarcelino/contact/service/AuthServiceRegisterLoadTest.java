@@ -0,0 +1,71 @@
+package jordanmarcelino.contact.service;
+
+import jordanmarcelino.contact.dto.UserRegisterRequest;
+import jordanmarcelino.contact.exception.UserAlreadyRegisteredException;
+import jordanmarcelino.contact.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.auth.password-policy.fixed-cost=4",
+        "app.auth.password-hasher.queue-capacity=256"
+})
+class AuthServiceRegisterLoadTest {
+
+    private static final int CONCURRENCY = 64;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final String username = "load-" + UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByUsername(username).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void testConcurrentDuplicateRegistrations() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger registered = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    authService.register(new UserRegisterRequest(username, "load test", "supersecret"));
+                    registered.incrementAndGet();
+                } catch (UserAlreadyRegisteredException exception) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(1, registered.get());
+        assertEquals(CONCURRENCY - 1, rejected.get());
+        assertTrue(userRepository.findByUsername(username).isPresent());
+    }
+}
@@ -0,0 +1,72 @@
+package jordanmarcelino.contact.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastBCryptTest {
+
+    private static final String[][] TEST_VECTORS = {
+            {"", "$2a$06$DCq7YPn5Rq63x1Lad4cll.", "$2a$06$DCq7YPn5Rq63x1Lad4cll.TV4S6ytwfsfvkgY8jIucDrjc8deX1s."},
+            {"a", "$2a$06$m0CrhHm10qJ3lXRY.5zDGO", "$2a$06$m0CrhHm10qJ3lXRY.5zDGO3rS2KdeeWLuGmsfGlMfOxih58VYVfxe"},
+            {"abc", "$2a$06$If6bvum7DFjUnE9p2uDeDu", "$2a$06$If6bvum7DFjUnE9p2uDeDu0YHzrHM6tf.iqN8.yx.jNN1ILEf7h0i"},
+    };
+
+    @Test
+    void testHashpwMatchesTestVectors() {
+        for (String[] vector : TEST_VECTORS) {
+            assertEquals(vector[2], FastBCrypt.hashpw(vector[0], vector[1]));
+        }
+    }
+
+    @Test
+    void testHashpwMatchesBCrypt() {
+        String[] passwords = {"", "supersecret", "pässwörd", "ÿÿ£", "x".repeat(100)};
+        for (String password : passwords) {
+            for (String prefix : new String[]{"$2a", "$2b", "$2y"}) {
+                String salt = BCrypt.gensalt(prefix, 4);
+                assertEquals(BCrypt.hashpw(password, salt), FastBCrypt.hashpw(password, salt));
+            }
+        }
+    }
+
+    @Test
+    void testHashpwMatchesBCryptForLegacyRevisions() {
+        for (String salt : new String[]{"$2x$05$CCCCCCCCCCCCCCCCCCCCC.", "$2$05$CCCCCCCCCCCCCCCCCCCCC."}) {
+            for (String password : new String[]{"abc", "££ÿ"}) {
+                assertEquals(BCrypt.hashpw(password, salt), FastBCrypt.hashpw(password, salt));
+            }
+        }
+    }
+
+    @Test
+    void testHashpwMatchesBCryptForRandomPasswords() {
+        Random random = new Random(42L);
+        for (int i = 0; i < 50; i++) {
+            byte[] bytes = new byte[random.nextInt(80)];
+            random.nextBytes(bytes);
+            String password = new String(bytes, StandardCharsets.ISO_8859_1);
+            String salt = BCrypt.gensalt(4);
+
+            assertEquals(BCrypt.hashpw(password, salt), FastBCrypt.hashpw(password, salt));
+        }
+    }
+
+    @Test
+    void testCheckpw() {
+        String hashed = BCrypt.hashpw("supersecret", BCrypt.gensalt(4));
+
+        assertTrue(FastBCrypt.checkpw("supersecret", hashed));
+        assertFalse(FastBCrypt.checkpw("supersecret!", hashed));
+        assertTrue(BCrypt.checkpw("supersecret", FastBCrypt.hashpw("supersecret", BCrypt.gensalt(4))));
+    }
+
+    @Test
+    void testHashpwInvalidSalt() {
+        assertThrows(IllegalArgumentException.class, () -> FastBCrypt.hashpw("test", "$3a$10$abcdefghijklmnopqrstuv"));
+        assertThrows(IllegalArgumentException.class, () -> FastBCrypt.hashpw("test", "$2a$03$CCCCCCCCCCCCCCCCCCCCC."));
+    }
+}
@@ -0,0 +1,89 @@
+package jordanmarcelino.contact.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevenshteinMatcherTest {
+
+    @Test
+    void testDistance() {
+        assertEquals(0, Levenshtein.distance("jordan", "jordan"));
+        assertEquals(1, Levenshtein.distance("jordan", "jordon"));
+        assertEquals(1, Levenshtein.distance("jordan", "jorda"));
+        assertEquals(2, Levenshtein.distance("marcelino", "marcleino"));
+        assertEquals(3, Levenshtein.distance("kitten", "sitting"));
+        assertEquals(6, Levenshtein.distance("", "budi s"));
+    }
+
+    @Test
+    void testBoundedDistance() {
+        assertEquals(3, Levenshtein.distance("kitten", "sitting", 2));
+        assertEquals(3, Levenshtein.distance("ab", "abcdefg", 2));
+        assertEquals(2, Levenshtein.distance("marcelino", "marcleino", 2));
+    }
+
+    @Test
+    void testSearch() {
+        String[] words = {"budi", "joan", "john", "jon", "jordan", "joseph", "sita", "siti"};
+
+        Map<String, Integer> matches = new LinkedHashMap<>();
+        LevenshteinMatcher.search(words, words.length, "jhon", 2,
+                (index, distance) -> matches.put(words[index], distance));
+
+        assertEquals(Map.of("joan", 2, "john", 2, "jon", 1), matches);
+    }
+
+    @Test
+    void testSearchOnlyReadsSize() {
+        String[] words = {"jon", "siti", null, null};
+
+        Map<String, Integer> matches = new LinkedHashMap<>();
+        LevenshteinMatcher.search(words, 2, "sito", 1,
+                (index, distance) -> matches.put(words[index], distance));
+
+        assertEquals(Map.of("siti", 1), matches);
+    }
+
+    @Test
+    void testSearchMatchesBruteForce() {
+        Random random = new Random(42L);
+        for (int i = 0; i < 200; i++) {
+            TreeSet<String> dictionary = new TreeSet<>();
+            int size = random.nextInt(300);
+            while (dictionary.size() < size) {
+                dictionary.add(randomWord(random, 1));
+            }
+            String[] words = dictionary.toArray(new String[0]);
+            String query = randomWord(random, 0);
+
+            for (int k = 0; k <= 2; k++) {
+                Map<String, Integer> expected = new LinkedHashMap<>();
+                for (String word : words) {
+                    int distance = Levenshtein.distance(query, word);
+                    if (distance <= k) {
+                        expected.put(word, distance);
+                    }
+                }
+
+                Map<String, Integer> actual = new LinkedHashMap<>();
+                LevenshteinMatcher.search(words, words.length, query, k,
+                        (index, distance) -> actual.put(words[index], distance));
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    private static String randomWord(Random random, int minLength) {
+        char[] chars = new char[minLength + random.nextInt(8)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(6));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,82 @@
+package jordanmarcelino.contact.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongPostingListTest {
+
+    @Test
+    void testAddAndRemoveKeepSortedSet() {
+        LongPostingList list = new LongPostingList();
+
+        assertTrue(list.add(5L));
+        assertTrue(list.add(1L));
+        assertTrue(list.add(9L));
+        assertFalse(list.add(5L));
+        assertTrue(list.remove(1L));
+        assertFalse(list.remove(1L));
+
+        assertEquals(2, list.size());
+        assertArrayEquals(new long[]{5L, 9L}, LongPostingList.intersect(list));
+    }
+
+    @Test
+    void testIntersectMatchesTreeSet() {
+        Random random = new Random(42L);
+        for (int round = 0; round < 500; round++) {
+            int count = 1 + random.nextInt(4);
+            LongPostingList[] lists = new LongPostingList[count];
+            TreeSet<Long> expected = null;
+            for (int i = 0; i < count; i++) {
+                lists[i] = new LongPostingList();
+                TreeSet<Long> values = new TreeSet<>();
+                int bound = 1 + random.nextInt(500);
+                for (int j = random.nextInt(300); j > 0; j--) {
+                    long value = random.nextInt(bound);
+                    assertEquals(values.add(value), lists[i].add(value));
+                }
+                if (expected == null) {
+                    expected = values;
+                } else {
+                    expected.retainAll(values);
+                }
+            }
+
+            assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), LongPostingList.intersect(lists));
+        }
+    }
+
+    @Test
+    void testLongObjectHashMapMatchesHashMap() {
+        Random random = new Random(7L);
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        Map<Long, String> expected = new HashMap<>();
+
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(2_000) * (random.nextBoolean() ? 1L : 1L << 40);
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+                case 1 -> assertEquals(expected.remove(key), map.remove(key));
+                default -> assertEquals(expected.get(key), map.get(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        List<Long> keys = new ArrayList<>();
+        map.forEach((key, value) -> {
+            assertEquals(expected.get(key), value);
+            keys.add(key);
+        });
+        assertEquals(expected.size(), keys.size());
+        assertTrue(Arrays.equals(expected.keySet().stream().sorted().toArray(), keys.stream().sorted().toArray()));
+    }
+}
@@ -0,0 +1,34 @@
+package jordanmarcelino.contact.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NamePhoneticsTest {
+
+    @Test
+    void testKeyIsSharedBySimilarSoundingNames() {
+        assertEquals(NamePhonetics.key("John"), NamePhonetics.key("Jon"));
+        assertEquals(NamePhonetics.key("Catherine"), NamePhonetics.key("Kathryn"));
+        assertEquals(NamePhonetics.key("Muhammad"), NamePhonetics.key("Mohamed"));
+        assertEquals(NamePhonetics.key("Stephen"), NamePhonetics.key("Steven"));
+        assertNotEquals(NamePhonetics.key("Budi"), NamePhonetics.key("Siti"));
+    }
+
+    @Test
+    void testKeyWithoutLetters() {
+        assertEquals("", NamePhonetics.key(null));
+        assertEquals("", NamePhonetics.key(" "));
+        assertEquals("", NamePhonetics.key("123"));
+    }
+
+    @Test
+    void testKeysIncludeAlternate() {
+        assertEquals(List.of("SM0", "XMT"), NamePhonetics.keys("smith"));
+        assertTrue(NamePhonetics.keys("smith").contains(NamePhonetics.key("Schmidt")));
+        assertEquals(List.of("FLP"), NamePhonetics.keys("filip"));
+        assertEquals(List.of(), NamePhonetics.keys("42"));
+    }
+}
@@ -0,0 +1,39 @@
+package jordanmarcelino.contact.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhoneNumbersTest {
+
+    @Test
+    void testNormalize() {
+        assertEquals("628123456", PhoneNumbers.normalize("+62 812-3456", "62"));
+        assertEquals("628123456", PhoneNumbers.normalize("0812 3456", "62"));
+        assertEquals("628123456", PhoneNumbers.normalize("0062 (812) 3456", "62"));
+        assertEquals("14155550100", PhoneNumbers.normalize(" +1 415 555 0100", "62"));
+        assertEquals("8123456", PhoneNumbers.normalize("812.3456", "62"));
+        assertEquals("628123456", PhoneNumbers.normalize("(0062) 812 3456", "62"));
+    }
+
+    @Test
+    void testNormalizeWithoutDigits() {
+        assertNull(PhoneNumbers.normalize(null, "62"));
+        assertNull(PhoneNumbers.normalize("", "62"));
+        assertNull(PhoneNumbers.normalize("n/a", "62"));
+    }
+
+    @Test
+    void testIsQualified() {
+        assertTrue(PhoneNumbers.isQualified("+62 812"));
+        assertTrue(PhoneNumbers.isQualified("0812"));
+        assertTrue(PhoneNumbers.isQualified("(0812)"));
+        assertFalse(PhoneNumbers.isQualified("812"));
+    }
+
+    @Test
+    void testReverse() {
+        assertEquals("6543218", PhoneNumbers.reverse("8123456"));
+        assertNull(PhoneNumbers.reverse(null));
+    }
+}